@@ -0,0 +1,94 @@
+package com.mx.raven.calculator.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code POST /calculate} over HTTP with {@value #CLIENTS} concurrent clients, logging as configured in
+ * {@code logback-spring.xml}: the default profile (synchronous appenders, services at DEBUG), the {@code prod} profile
+ * (synchronous appenders, services at INFO) and {@code prod} with {@code async-logging} ({@code prod-async}:
+ * asynchronous appenders with a bounded, discarding queue, services at INFO).
+ * Only the rolling file appender is kept attached to the root logger; the console one would print every event
+ * in the benchmark output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(AsyncLoggingWebBenchmark.CLIENTS)
+@Fork(1)
+public class AsyncLoggingWebBenchmark {
+
+    static final int CLIENTS = 16;
+
+    @Param({"default", "prod", "prod-async"})
+    private String loggingProfile;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = switch (loggingProfile) {
+            case "prod" -> BenchmarkContexts.startWebWithConfiguredLogging("spring.profiles.include=prod");
+            case "prod-async" ->
+                    BenchmarkContexts.startWebWithConfiguredLogging("spring.profiles.include=prod,async-logging");
+            default -> BenchmarkContexts.startWebWithConfiguredLogging();
+        };
+
+        var root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAppender("Console");
+        root.detachAppender("AsyncConsole");
+
+        var user = new UserDTO(null, "benchmark", "password", "benchmark@example.com", LocalDateTime.now());
+        context.getBean(UserEventRepository.class).storeSaveUser(user);
+        String token = context.getBean(JwtTokenUtil.class)
+                .generateToken(User.withUsername("benchmark").password("password").build());
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newCachedThreadPool();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port
+                        + "/calculate?operation=add&operandA=10.5&operandB=2.25"))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int calculate() throws IOException, InterruptedException {
+        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.CalculatorApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application on the H2 test profile, for benchmarks that need real beans; without the web server
+ * unless the benchmark goes through HTTP.
+ * Properties are passed as command line arguments so they take precedence over the yml files.
+ * Set {@code benchmark.db.round-trip-micros} to simulate the latency of a remote database.
+ */
+final class BenchmarkContexts {
+
+    private static final List<String> DEFAULT_PROPERTIES = List.of(
+            "spring.jpa.show-sql=false");
+
+    private static final List<String> QUIET_LOGGING = List.of(
+            "logging.level.root=warn",
+            "logging.level.com.mx.raven.calculator=warn",
+            //logback-spring.xml fija debug en estos loggers, así que hay que bajarlos uno a uno
+            "logging.level.com.mx.raven.calculator.service.impl.UserServiceImpl=warn",
+            "logging.level.com.mx.raven.calculator.service.impl.UserOperationServiceImpl=warn",
+            "logging.level.com.mx.raven.calculator.service.impl.OperationHistoryServiceImpl=warn");
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, true, properties);
+    }
+
+    /**
+     * Starts the embedded Tomcat on a random port, available as {@code local.server.port}.
+     */
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        return start(WebApplicationType.SERVLET, true, withRandomPort(properties));
+    }
+
+    /**
+     * Like {@link #startWeb}, but keeps the appenders and levels of {@code logback-spring.xml} instead of
+     * lowering every logger to WARN, for benchmarks that measure the cost of logging itself.
+     */
+    static ConfigurableApplicationContext startWebWithConfiguredLogging(String... properties) {
+        return start(WebApplicationType.SERVLET, false, withRandomPort(properties));
+    }
+
+    private static String[] withRandomPort(String... properties) {
+        List<String> withPort = new ArrayList<>(List.of(properties));
+        withPort.add("server.port=0");
+        return withPort.toArray(String[]::new);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, boolean quietLogging,
+                                                        String... properties) {
+        List<String> args = new ArrayList<>();
+        DEFAULT_PROPERTIES.forEach(property -> args.add("--" + property));
+        if (quietLogging)
+            QUIET_LOGGING.forEach(property -> args.add("--" + property));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+
+        return new SpringApplicationBuilder(CalculatorApplication.class, SimulatedLatencyDataSourceConfig.class)
+                .web(webApplicationType)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,68 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.calculation.CalculationPrecision;
+import com.mx.raven.calculator.calculation.OperationCalculator;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU part of a calculation, per operation: validation and calculation with the default precision, as
+ * {@code UserOperationServiceImpl} does before storing the operation. Operands are random integers or decimals with
+ * two fraction digits within the validator bounds.
+ * Run with {@code -prof gc} to see the bytes allocated per calculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculationPipelineBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"add", "subtract", "multiply", "divide", "sqrt"})
+    private String operation;
+
+    @Param({"integral", "decimal"})
+    private String operands;
+
+    private final UserOperationSaveValidator validator = new UserOperationSaveValidator();
+    private UserOperationDTO[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        boolean integral = "integral".equals(operands);
+        requests = new UserOperationDTO[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            //sqrt solo admite operandos no negativos; divide necesita un divisor distinto de cero
+            var operandA = operand(random, integral, !"sqrt".equals(operation));
+            var operandB = operand(random, integral, true);
+            if (operandB.signum() == 0)
+                operandB = BigDecimal.ONE;
+            requests[i] = new UserOperationDTO(null, operation, operandA, operandB, null, null, null, null);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void validateAndCalculate(Blackhole blackhole) {
+        for (var request : requests) {
+            var type = validator.validateOperation(request);
+            blackhole.consume(OperationCalculator.calculate(type, request.getOperandA(),
+                    request.getOperandB(), CalculationPrecision.DEFAULT));
+        }
+    }
+
+    private static BigDecimal operand(Random random, boolean integral, boolean signed) {
+        long unscaled = signed ? random.nextLong(-100_000_000, 100_000_001) : random.nextLong(0, 100_000_001);
+        return integral ? BigDecimal.valueOf(unscaled / 100) : BigDecimal.valueOf(unscaled, 2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.model.HistoryCursor;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
+import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.OperationHistoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading one history page at increasing depths with offset pagination ({@code GET /history})
+ * and keyset pagination ({@code GET /history/cursor}) over {@value #ROWS} stored operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryPaginationBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    @Param({"0", "1000", "9000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private OperationHistoryService service;
+    private String token;
+    private Optional<String> cursor;
+
+    //Con un filtro el COUNT(*) de la paginación por offset ya no es O(1) en H2
+    private final Optional<String> operationType = Optional.of("add");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //Sin OPTIMIZE_REUSE_RESULTS=FALSE H2 devuelve el resultado anterior de una consulta idéntica sin ejecutarla
+        context = BenchmarkContexts.start(
+                "spring.datasource.url=jdbc:h2:mem:calculatordb;OPTIMIZE_REUSE_RESULTS=FALSE");
+        service = context.getBean(OperationHistoryService.class);
+
+        var user = new UserDTO(null, "benchmark", "password", "benchmark@example.com", LocalDateTime.now());
+        Long userId = context.getBean(UserEventRepository.class).storeSaveUser(user).getId();
+        token = context.getBean(JwtTokenUtil.class)
+                .generateToken(User.withUsername("benchmark").password("password").build());
+
+        var repository = context.getBean(UserOperationEventRepository.class);
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int offset = 0; offset < ROWS; offset += 1_000) {
+            List<UserOperationDTO> operations = new ArrayList<>(1_000);
+            for (int i = offset; i < offset + 1_000; i++) {
+                operations.add(new UserOperationDTO(null, "add", BigDecimal.TEN, BigDecimal.ONE,
+                        new BigDecimal("11.0"), start.plusNanos(i * 100_000L), userId, null));
+            }
+            repository.storeSaveAllUserOperations(operations);
+        }
+
+        //El cursor equivalente a la página pedida es la última operación de la página anterior
+        cursor = Optional.empty();
+        if (page > 0) {
+            var previous = service.getOperations(operationType, Optional.empty(), Optional.empty(),
+                    PageRequest.of(page * PAGE_SIZE - 1, 1, NEWEST_FIRST), token).getContent().get(0);
+            cursor = Optional.of(new HistoryCursor(previous.getTimestamp(), previous.getId()).encode());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<UserOperationDTO> offset() {
+        return service.getOperations(operationType, Optional.empty(), Optional.empty(),
+                PageRequest.of(page, PAGE_SIZE, NEWEST_FIRST), token);
+    }
+
+    @Benchmark
+    public CursorPageDTO<UserOperationDTO> keyset() {
+        return service.getOperationsByCursor(operationType, Optional.empty(), Optional.empty(),
+                cursor, PAGE_SIZE, token);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.persistence.entities.User;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Copy of {@link com.mx.raven.calculator.persistence.entities.UserOperation} with the previous
+ * {@code GenerationType.IDENTITY} ids, so {@link UserOperationInsertBenchmark} can measure the insert cost before the
+ * switch to a pooled sequence. Hibernate cannot batch inserts of IDENTITY entities, whatever {@code jdbc.batch_size} is.
+ */
+@Entity
+@Table(name = "benchmark_identity_operations")
+@Data
+@NoArgsConstructor
+public class IdentityUserOperation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(length = 20)
+    private String operation;
+
+    @Column(scale = 2)
+    private BigDecimal operandA;
+
+    @Column(scale = 2)
+    private BigDecimal operandB;
+
+    @Column(precision = 65, scale = 30)
+    private BigDecimal result;
+
+    @Column(length = 100)
+    private LocalDateTime timestamp;
+
+    @Column(length = 500)
+    private String expression;
+}
@@ -0,0 +1,6 @@
+package com.mx.raven.calculator.benchmark;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdentityUserOperationStore extends JpaRepository<IdentityUserOperation, Long> {
+}
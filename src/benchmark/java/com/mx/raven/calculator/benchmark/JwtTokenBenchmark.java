@@ -0,0 +1,63 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.VerifiedClaimsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the claim lookup done on every authenticated request: with the signature verified
+ * each time (a claims cache of size 0) and served from {@link VerifiedClaimsCache}.
+ * Run with {@code -prof gc} to see the allocations of the JSON and Base64 handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String SECRET = "calculatorSecretKey123456789012345678901234567890";
+
+    private final UserDetails user = User.withUsername("benchmark").password("password").build();
+
+    private JwtTokenUtil uncached;
+    private JwtTokenUtil cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncached = jwtTokenUtil(0);
+        cached = jwtTokenUtil(10_000);
+        token = cached.generateToken(user, 42L);
+        cached.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return uncached.generateToken(user, 42L);
+    }
+
+    @Benchmark
+    public String parse_Verified() {
+        return uncached.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public String parse_Cached() {
+        return cached.getUsernameFromToken(token);
+    }
+
+    private static JwtTokenUtil jwtTokenUtil(long cacheSize) {
+        var jwtTokenUtil = new JwtTokenUtil(new VerifiedClaimsCache(cacheSize, 300_000), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 86_400_000L);
+        return jwtTokenUtil;
+    }
+}
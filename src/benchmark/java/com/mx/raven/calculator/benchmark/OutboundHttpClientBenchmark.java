@@ -0,0 +1,95 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency distribution of one outbound call against a local stub of mailboxlayer, with the previous
+ * {@code SimpleClientHttpRequestFactory} and with the pooled client of {@link RestTemplateConfig}.
+ * Sample mode reports p50/p99/p99.9; the teardown prints how many TCP connections (handshakes) each request cost.
+ * Run with several threads ({@code -t 16}) so connections are contended as under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OutboundHttpClientBenchmark {
+
+    private static final byte[] BODY = ("{\"email\":\"user@example.com\",\"domain\":\"example.com\"," +
+            "\"format_valid\":true,\"mx_found\":true,\"disposable\":false}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"simple", "pooled"})
+    private String client;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String url;
+
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requests = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(32);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/check", exchange -> {
+            connections.add(exchange.getRemoteAddress().toString());
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            exchange.getResponseBody().write(BODY);
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/check?email=user@example.com";
+
+        if (client.equals("pooled")) {
+            var config = new RestTemplateConfig();
+            var connectionManager = config.outboundConnectionManager(new SimpleMeterRegistry(), 2000, 10000, 50, 20, 300000);
+            httpClient = config.outboundHttpClient(connectionManager, 1000, 10000, 30000, 30000);
+            restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+        } else {
+            //Cliente anterior: HttpURLConnection sin pool propio
+            var requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout(2000);
+            requestFactory.setReadTimeout(10000);
+            restTemplate = new RestTemplate(requestFactory);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nTCP connections per request: %.4f (%d connections, %d requests)%n",
+                (double) connections.size() / requests.get(), connections.size(), requests.get());
+        if (httpClient != null)
+            httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String call() {
+        return restTemplate.getForObject(url, String.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.mx.raven.calculator.benchmark;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wraps the application DataSource so that every statement execution, batch execution and commit waits
+ * {@code benchmark.db.round-trip-micros}, simulating the network round trip to a remote database.
+ * The embedded H2 database has no round trips, which hides the cost that JDBC batching saves.
+ */
+@Configuration
+public class SimulatedLatencyDataSourceConfig {
+
+    static final LongAdder ROUND_TRIPS = new LongAdder();
+
+    private static final Set<String> ROUND_TRIP_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch", "commit");
+
+    @Bean
+    static BeanPostProcessor simulatedLatencyDataSourcePostProcessor(
+            @Value("${benchmark.db.round-trip-micros:0}") long roundTripMicros) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && roundTripMicros > 0) {
+                    return new SimulatedLatencyDataSource(dataSource, TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class SimulatedLatencyDataSource extends DelegatingDataSource {
+
+        private final long roundTripNanos;
+
+        private SimulatedLatencyDataSource(DataSource target, long roundTripNanos) {
+            super(target);
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password), Connection.class);
+        }
+
+        private <T> T wrap(T target, Class<T> type) {
+            InvocationHandler handler = (proxy, method, args) -> invoke(target, method, args);
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), proxyInterfaces(target, type), handler));
+        }
+
+        private Class<?>[] proxyInterfaces(Object target, Class<?> type) {
+            for (Class<?> candidate : new Class<?>[]{java.sql.CallableStatement.class, java.sql.PreparedStatement.class}) {
+                if (candidate.isInstance(target) && type.isAssignableFrom(candidate)) {
+                    return new Class<?>[]{candidate};
+                }
+            }
+            return new Class<?>[]{type};
+        }
+
+        private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            if (ROUND_TRIP_METHODS.contains(method.getName())) {
+                ROUND_TRIPS.increment();
+                LockSupport.parkNanos(roundTripNanos);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                return wrap(statement, Statement.class);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.calculation.OperationCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link OperationCalculator#sqrt} for each result scale, against the previous
+ * {@code Math.sqrt(double)} round trip, which is only exact up to 15-17 significant digits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqrtPrecisionBenchmark {
+
+    private static final int SIZE = 256;
+
+    @Param({"1", "10", "20", "30"})
+    private int scale;
+
+    private BigDecimal[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(42);
+        values = new BigDecimal[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = BigDecimal.valueOf(random.nextInt(1_000_001));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void bigDecimalSqrt(Blackhole blackhole) {
+        for (BigDecimal value : values)
+            blackhole.consume(OperationCalculator.sqrt(value, scale, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void doubleSqrt(Blackhole blackhole) {
+        for (BigDecimal value : values)
+            blackhole.consume(BigDecimal.valueOf(Math.sqrt(value.doubleValue())).setScale(scale, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,115 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.entities.User;
+import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
+import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import com.mx.raven.calculator.persistence.stores.UserOperationStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the operation history against the in-memory H2 database of the test profile.
+ * Throughput is reported in stored operations per second. {@code roundTripMicros} adds a simulated network
+ * round trip to every statement, batch and commit, which is where JDBC batching pays off.
+ * {@code idGeneration=identity} stores {@link IdentityUserOperation}, the same entity with the previous IDENTITY ids,
+ * which Hibernate inserts one statement at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserOperationInsertBenchmark {
+
+    @Param({"1", "100"})
+    private int batchSize;
+
+    @Param({"0", "250"})
+    private long roundTripMicros;
+
+    @Param({"sequence", "identity"})
+    private String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private UserOperationEventRepository repository;
+    private UserOperationStore store;
+    private IdentityUserOperationStore identityStore;
+    private Long userId;
+    private long operationsStored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("benchmark.db.round-trip-micros=" + roundTripMicros);
+        repository = context.getBean(UserOperationEventRepository.class);
+        store = context.getBean(UserOperationStore.class);
+        identityStore = context.getBean(IdentityUserOperationStore.class);
+
+        var user = new UserDTO(null, "benchmark", "password", "benchmark@example.com", LocalDateTime.now());
+        userId = context.getBean(UserEventRepository.class).storeSaveUser(user).getId();
+        SimulatedLatencyDataSourceConfig.ROUND_TRIPS.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        store.deleteAllInBatch();
+        identityStore.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (roundTripMicros > 0) {
+            System.out.printf("%nRound trips per stored operation: %.3f%n",
+                    SimulatedLatencyDataSourceConfig.ROUND_TRIPS.doubleValue() / operationsStored);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<?> saveAll() {
+        List<Object> stored = new ArrayList<>(100);
+        for (int i = 0; i < 100; i += batchSize) {
+            if (idGeneration.equals("identity"))
+                stored.addAll(identityStore.saveAll(identityOperations(batchSize)));
+            else
+                stored.addAll(repository.storeSaveAllUserOperations(operations(batchSize)));
+        }
+        operationsStored += stored.size();
+        return stored;
+    }
+
+    private List<UserOperationDTO> operations(int size) {
+        List<UserOperationDTO> operations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            operations.add(new UserOperationDTO(null, "add", BigDecimal.TEN, BigDecimal.ONE,
+                    new BigDecimal("11.0"), LocalDateTime.now(), userId, null));
+        }
+        return operations;
+    }
+
+    private List<IdentityUserOperation> identityOperations(int size) {
+        var user = new User();
+        user.setId(userId);
+        List<IdentityUserOperation> operations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var operation = new IdentityUserOperation();
+            operation.setUser(user);
+            operation.setOperation("add");
+            operation.setOperandA(BigDecimal.TEN);
+            operation.setOperandB(BigDecimal.ONE);
+            operation.setResult(new BigDecimal("11.0"));
+            operation.setTimestamp(LocalDateTime.now());
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.mappers.UserOperationsMapper;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.entities.UserOperation;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions of the operation history: DTO to entity (every save) and entity to DTO (every history row),
+ * and the full round trip. Run with {@code -prof gc} to see the allocations per conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserOperationsMapperBenchmark {
+
+    private final UserOperationsMapper mapper = UserOperationsMapper.INSTANCE;
+
+    private UserOperationDTO dto;
+    private UserOperation entity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dto = new UserOperationDTO(1L, "divide", new BigDecimal("12345.67"), new BigDecimal("89.10"),
+                new BigDecimal("138.6"), LocalDateTime.now(), 42L, null);
+        entity = mapper.userOperationDTOToUserOperation(dto);
+        if (!dto.equals(mapper.userOperationToUserOperationDTO(entity)))
+            throw new IllegalStateException("Round trip changed the operation: " + entity);
+    }
+
+    @Benchmark
+    public UserOperation toEntity() {
+        return mapper.userOperationDTOToUserOperation(dto);
+    }
+
+    @Benchmark
+    public UserOperationDTO toDto() {
+        return mapper.userOperationToUserOperationDTO(entity);
+    }
+
+    @Benchmark
+    public UserOperationDTO roundTrip() {
+        return mapper.userOperationToUserOperationDTO(mapper.userOperationDTOToUserOperation(dto));
+    }
+}
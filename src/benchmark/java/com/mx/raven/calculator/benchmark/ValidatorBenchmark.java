@@ -0,0 +1,86 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import com.mx.raven.calculator.validation.UserSaveValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation run on every request: {@code UserOperationSaveValidator.validate} on a valid operation, on one
+ * rejected at the last check and on one rejected at the operation lookup (the cost of building the
+ * {@link InvalidObjectException} included), and {@code validaCadena} on a valid and an invalid username, next to
+ * the {@code String.matches} it replaced. Run with {@code -prof gc} to see the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private final UserOperationSaveValidator operationValidator = new UserOperationSaveValidator();
+    //validaCadena no usa el servicio de email, así que no hace falta uno real
+    private final UserSaveValidator userValidator = new UserSaveValidator(null);
+
+    private final UserOperationDTO validOperation = new UserOperationDTO(null, "divide",
+            new BigDecimal("12345.67"), new BigDecimal("89.10"), null, null, null, null);
+    private final UserOperationDTO invalidOperation = new UserOperationDTO(null, "divide",
+            new BigDecimal("12345.67"), new BigDecimal("2000000"), null, null, null, null);
+    private final UserOperationDTO unknownOperation = new UserOperationDTO(null, "divides",
+            new BigDecimal("12345.67"), new BigDecimal("89.10"), null, null, null, null);
+
+    private final String validUsername = "benchmarkUser2024";
+    private final String invalidUsername = "benchmark.user-2024";
+
+    @Benchmark
+    public UserOperationDTO validateOperation() {
+        operationValidator.validate(validOperation);
+        return validOperation;
+    }
+
+    @Benchmark
+    public String validateOperation_Rejected() {
+        try {
+            operationValidator.validate(invalidOperation);
+            throw new IllegalStateException("Operation should have been rejected");
+        } catch (InvalidObjectException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String validateOperation_UnknownOperation() {
+        try {
+            operationValidator.validate(unknownOperation);
+            throw new IllegalStateException("Operation should have been rejected");
+        } catch (InvalidObjectException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean validaCadena_Valid() {
+        return userValidator.validaCadena(validUsername);
+    }
+
+    @Benchmark
+    public boolean validaCadena_Invalid() {
+        return userValidator.validaCadena(invalidUsername);
+    }
+
+    //Implementación anterior, como referencia: compila el Pattern en cada llamada
+    @Benchmark
+    public boolean stringMatches_Valid() {
+        return validUsername.matches("^[a-zA-Z0-9]+$");
+    }
+
+    @Benchmark
+    public boolean stringMatches_Invalid() {
+        return invalidUsername.matches("^[a-zA-Z0-9]+$");
+    }
+}
@@ -0,0 +1,102 @@
+package com.mx.raven.calculator.benchmark;
+
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
+import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /history/cursor} over HTTP with {@value #CLIENTS} concurrent clients against a slow database
+ * ({@code roundTripMicros} per statement and commit), with Tomcat on platform threads (200 by default) and on
+ * virtual threads ({@code spring.threads.virtual.enabled}). The connection pool is sized above the client count so
+ * the database latency, not the pool, is what the request threads wait on.
+ * The forked JVM runs with {@code -Djdk.tracePinnedThreads=short}, so any virtual thread pinned while blocking
+ * prints its stack trace in the benchmark output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(VirtualThreadsWebBenchmark.CLIENTS)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class VirtualThreadsWebBenchmark {
+
+    static final int CLIENTS = 800;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"10000"})
+    private long roundTripMicros;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.startWeb(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "benchmark.db.round-trip-micros=" + roundTripMicros,
+                "spring.datasource.hikari.maximum-pool-size=" + (CLIENTS + 50),
+                "server.tomcat.accept-count=" + CLIENTS);
+
+        var user = new UserDTO(null, "benchmark", "password", "benchmark@example.com", LocalDateTime.now());
+        Long userId = context.getBean(UserEventRepository.class).storeSaveUser(user).getId();
+        String token = context.getBean(JwtTokenUtil.class)
+                .generateToken(User.withUsername("benchmark").password("password").build());
+
+        List<UserOperationDTO> operations = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < 100; i++) {
+            operations.add(new UserOperationDTO(null, "add", BigDecimal.TEN, BigDecimal.ONE,
+                    new BigDecimal("11.0"), start.plusSeconds(i), userId, null));
+        }
+        context.getBean(UserOperationEventRepository.class).storeSaveAllUserOperations(operations);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newCachedThreadPool();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/history/cursor?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int historyPage() throws IOException, InterruptedException {
+        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,36 @@
+package com.mx.raven.calculator.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The calls the load test mixes, named as in {@code --mix}.
+ */
+enum Endpoint {
+    REGISTER("POST /auth/register"),
+    LOGIN("POST /auth/login"),
+    CALCULATE("POST /calculate"),
+    HISTORY("GET /history/cursor");
+
+    private final String path;
+
+    Endpoint(String path) {
+        this.path = path;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Endpoint of(String key) {
+        try {
+            return valueOf(key.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown endpoint in --mix: " + key
+                    + " (expected register, login, calculate or history)");
+        }
+    }
+}
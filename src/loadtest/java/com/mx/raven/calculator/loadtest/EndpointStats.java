@@ -0,0 +1,76 @@
+package com.mx.raven.calculator.loadtest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and failures of one endpoint during the measurement window. Every latency is kept, so percentiles are
+ * exact; at the rates this harness runs, a few hundred thousand longs are cheaper than a histogram dependency.
+ */
+final class EndpointStats {
+
+    private final Endpoint endpoint;
+    private final Map<String, Integer> errorsByCause = new TreeMap<>();
+    private long[] latencies = new long[1024];
+    private int completed;
+    private int errors;
+
+    EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records a finished request; {@code status} is the HTTP status, or {@code -1} when no response arrived.
+     */
+    synchronized void record(long latencyNanos, int status) {
+        if (completed == latencies.length)
+            latencies = Arrays.copyOf(latencies, completed * 2);
+        latencies[completed++] = latencyNanos;
+
+        if (status < 200 || status >= 300)
+            error(status < 0 ? "io" : String.valueOf(status));
+    }
+
+    /**
+     * Records a request that was never sent because too many were already waiting for a response.
+     */
+    synchronized void recordDropped() {
+        error("dropped");
+    }
+
+    private void error(String cause) {
+        errors++;
+        errorsByCause.merge(cause, 1, Integer::sum);
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        int dropped = errorsByCause.getOrDefault("dropped", 0);
+        int requests = completed + dropped;
+
+        return new Summary(endpoint, requests, errors,
+                requests / seconds,
+                requests == 0 ? 0 : (double) errors / requests,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1],
+                Collections.unmodifiableMap(new TreeMap<>(errorsByCause)));
+    }
+
+    //Nearest-rank: el menor valor que deja al menos el percentil indicado por debajo o igual
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    /**
+     * Latencies in nanoseconds, measured from the time the request was scheduled to be sent.
+     */
+    record Summary(Endpoint endpoint, int requests, int errors, double throughput, double errorRate,
+                   long p50, long p90, long p99, long p999, long max, Map<String, Integer> errorsByCause) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.mx.raven.calculator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mx.raven.calculator.CalculatorApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: starts the application on an in-memory database with mailboxlayer replaced by
+ * {@link MailboxlayerStub}, registers {@code --users} accounts and then sends a weighted mix of register, login,
+ * calculate and history calls at a fixed arrival rate.
+ * <p>
+ * Requests are sent on schedule whether or not earlier ones have answered (open model), and latency is measured
+ * from the scheduled send time, so a stalled server shows up as queueing in the percentiles instead of as a lower
+ * request rate. The process exits with status 1 when an endpoint exceeds {@code --max-error-rate} or
+ * {@code --max-p99-ms}, which fails the Maven build of the {@code loadtest} profile.
+ * <p>
+ * Example: {@code mvn -Ploadtest verify -Dloadtest.args="--rate=200 --duration=120 --max-p99-ms=250"}
+ */
+public final class LoadTestHarness {
+
+    private static final String PASSWORD = "LoadTest123";
+    private static final String[] OPERATIONS = {"add", "subtract", "multiply", "divide"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong registrations = new AtomicLong();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final String baseUrl;
+    private final HttpClient client;
+
+    private LoadTestHarness(LoadTestOptions options, String baseUrl, ExecutorService executor) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+
+        LoadTestReport report;
+        try (var stub = MailboxlayerStub.start(options.mailboxlayerLatencyMs());
+             var context = startApplication(options, stub);
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            var harness = new LoadTestHarness(options, baseUrl, executor);
+            harness.seedUsers();
+            report = harness.run(stub);
+        }
+
+        String text = report.format();
+        System.out.println(text);
+        if (options.reportFile() != null) {
+            Files.createDirectories(options.reportFile().toAbsolutePath().getParent());
+            Files.writeString(options.reportFile(), text);
+            System.out.println("Report written to " + options.reportFile().toAbsolutePath());
+        }
+
+        var violations = report.violations();
+        violations.forEach(violation -> System.out.println("FAILED: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, MailboxlayerStub stub) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--calculator.email-validation.engine=mailboxlayer",
+                "--mailboxlayer.url-api=" + stub.url(),
+                //Un log por petición en consola mediría la terminal, no la aplicación
+                "--logging.level.root=warn",
+                "--logging.level.com.mx.raven.calculator=warn",
+                "--logging.level.com.mx.raven.calculator.service.impl.UserServiceImpl=warn",
+                "--logging.level.com.mx.raven.calculator.service.impl.UserOperationServiceImpl=warn",
+                "--logging.level.com.mx.raven.calculator.service.impl.OperationHistoryServiceImpl=warn"));
+        if (options.database() == LoadTestOptions.Database.MYSQL)
+            args.add("--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        //Van al final para que las propiedades de la línea de comandos ganen a las de arriba
+        options.applicationProperties().forEach(property -> args.add("--" + property));
+
+        return new SpringApplicationBuilder(CalculatorApplication.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Registers and logs in the accounts used by the login, calculate and history calls.
+     */
+    private void seedUsers() throws IOException, InterruptedException {
+        System.out.printf("Registering %d users%n", options.users());
+        List<CompletableFuture<String>> logins = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            String username = "seed" + i;
+            usernames.add(username);
+            logins.add(client.sendAsync(register(username), HttpResponse.BodyHandlers.ofString())
+                    .thenCompose(response -> {
+                        if (response.statusCode() / 100 != 2)
+                            throw new IllegalStateException("Could not register " + username + ": "
+                                    + response.statusCode() + " " + response.body());
+                        return client.sendAsync(login(username), HttpResponse.BodyHandlers.ofString());
+                    })
+                    .thenApply(response -> {
+                        if (response.statusCode() / 100 != 2)
+                            throw new IllegalStateException("Could not log in " + username + ": "
+                                    + response.statusCode() + " " + response.body());
+                        return token(response.body());
+                    }));
+        }
+        for (var login : logins) {
+            tokens.add(login.join());
+        }
+    }
+
+    private String token(String body) {
+        try {
+            return objectMapper.readTree(body).get("token").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected login response: " + body, e);
+        }
+    }
+
+    private LoadTestReport run(MailboxlayerStub stub) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        options.mix().weights().forEach((endpoint, weight) -> {
+            if (weight > 0)
+                stats.put(endpoint, new EndpointStats(endpoint));
+        });
+
+        var random = new SplittableRandom(options.seed());
+        var inFlight = new Semaphore(options.maxInFlight());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        long sent = 0;
+        long maxLag = 0;
+        long stubCallsBefore = stub.calls();
+
+        System.out.printf("Warming up for %d s, then measuring for %d s at %.1f req/s%n",
+                options.warmupSeconds(), options.durationSeconds(), options.rate());
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end)
+                break;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = options.mix().next(random);
+            //Lo enviado durante el calentamiento no cuenta en el informe
+            boolean measured = scheduled >= measureFrom;
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (measured) {
+                sent++;
+                maxLag = Math.max(maxLag, -wait);
+            }
+
+            if (!inFlight.tryAcquire()) {
+                if (measured)
+                    endpointStats.recordDropped();
+                continue;
+            }
+            client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        inFlight.release();
+                        if (measured)
+                            endpointStats.record(latency, error == null ? response.statusCode() : -1);
+                    });
+        }
+
+        //Espera a las respuestas pendientes; las que no lleguen a tiempo no cuentan
+        if (!inFlight.tryAcquire(options.maxInFlight(), options.drainSeconds(), TimeUnit.SECONDS))
+            System.out.println("Some requests were still waiting for a response after the drain period");
+
+        double seconds = options.durationSeconds();
+        List<EndpointStats.Summary> summaries = stats.values().stream()
+                .map(endpointStats -> endpointStats.summarize(seconds))
+                .toList();
+        return new LoadTestReport(options, summaries, sent, maxLag, stub.calls() - stubCallsBefore);
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        int user = random.nextInt(usernames.size());
+        return switch (endpoint) {
+            case REGISTER -> register("user" + registrations.incrementAndGet());
+            case LOGIN -> login(usernames.get(user));
+            case CALCULATE -> authorized(tokens.get(user), "/calculate?operation="
+                    + OPERATIONS[random.nextInt(OPERATIONS.length)]
+                    + "&operandA=" + random.nextInt(1, 10_000)
+                    + "&operandB=" + random.nextInt(1, 10_000))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case HISTORY -> authorized(tokens.get(user), "/history/cursor?size=20")
+                    .GET()
+                    .build();
+        };
+    }
+
+    private HttpRequest register(String username) {
+        //Varios dominios para que la caché de veredictos por dominio no evite todas las llamadas a mailboxlayer
+        String email = username + "@domain" + (Math.floorMod(username.hashCode(), options.emailDomains())) + ".example";
+        return json("/auth/register",
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"email\":\"" + email + "\"}");
+    }
+
+    private HttpRequest login(String username) {
+        return json("/auth/login", "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    private HttpRequest json(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+}
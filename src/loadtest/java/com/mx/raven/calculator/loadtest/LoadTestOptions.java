@@ -0,0 +1,146 @@
+package com.mx.raven.calculator.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ * Any option that is not one of the harness's own is passed to the application as a property, so
+ * {@code --spring.threads.virtual.enabled=true} or {@code --spring.datasource.url=...} tune the server under test.
+ */
+record LoadTestOptions(
+        double rate,
+        int warmupSeconds,
+        int durationSeconds,
+        Mix mix,
+        int users,
+        int emailDomains,
+        int maxInFlight,
+        int drainSeconds,
+        long mailboxlayerLatencyMs,
+        Database database,
+        long seed,
+        double maxErrorRate,
+        long maxP99Ms,
+        Path reportFile,
+        List<String> applicationProperties) {
+
+    enum Database {
+        //H2 en memoria con el perfil test, igual que los benchmarks
+        H2,
+        //H2 en modo de compatibilidad MySQL, para acercarse a la sintaxis y tipos de producción sin red
+        MYSQL
+    }
+
+    static LoadTestOptions parse(String... args) {
+        double rate = 50;
+        int warmupSeconds = 10;
+        int durationSeconds = 60;
+        Mix mix = Mix.parse("register:5,login:10,calculate:65,history:20");
+        int users = 50;
+        int emailDomains = 100;
+        int maxInFlight = 2000;
+        int drainSeconds = 30;
+        long mailboxlayerLatencyMs = 300;
+        Database database = Database.H2;
+        long seed = 42;
+        double maxErrorRate = 0.01;
+        long maxP99Ms = 0;
+        Path reportFile = Path.of("target", "loadtest", "report.txt");
+        List<String> applicationProperties = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.isBlank())
+                continue;
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0)
+                throw new IllegalArgumentException("Options must be --name=value: " + arg);
+
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "rate" -> rate = positive(name, Double.parseDouble(value));
+                case "warmup" -> warmupSeconds = (int) notNegative(name, Integer.parseInt(value));
+                case "duration" -> durationSeconds = (int) positive(name, Integer.parseInt(value));
+                case "mix" -> mix = Mix.parse(value);
+                case "users" -> users = (int) positive(name, Integer.parseInt(value));
+                case "email-domains" -> emailDomains = (int) positive(name, Integer.parseInt(value));
+                case "max-in-flight" -> maxInFlight = (int) positive(name, Integer.parseInt(value));
+                case "drain" -> drainSeconds = (int) notNegative(name, Integer.parseInt(value));
+                case "mailboxlayer-latency-ms" -> mailboxlayerLatencyMs = (long) notNegative(name, Long.parseLong(value));
+                case "database" -> database = Database.valueOf(value.trim().toUpperCase(Locale.ROOT));
+                case "seed" -> seed = Long.parseLong(value);
+                case "max-error-rate" -> maxErrorRate = notNegative(name, Double.parseDouble(value));
+                case "max-p99-ms" -> maxP99Ms = (long) notNegative(name, Long.parseLong(value));
+                case "report" -> reportFile = value.isBlank() ? null : Path.of(value);
+                default -> applicationProperties.add(arg.substring(2));
+            }
+        }
+
+        return new LoadTestOptions(rate, warmupSeconds, durationSeconds, mix, users, emailDomains, maxInFlight,
+                drainSeconds, mailboxlayerLatencyMs, database, seed, maxErrorRate, maxP99Ms, reportFile,
+                Collections.unmodifiableList(applicationProperties));
+    }
+
+    private static double positive(String name, double value) {
+        if (value <= 0)
+            throw new IllegalArgumentException("--" + name + " must be greater than zero");
+        return value;
+    }
+
+    private static double notNegative(String name, double value) {
+        if (value < 0)
+            throw new IllegalArgumentException("--" + name + " cannot be negative");
+        return value;
+    }
+
+    /**
+     * Relative weights of each endpoint, e.g. {@code register:5,login:10,calculate:65,history:20}.
+     * Endpoints left out are not called.
+     */
+    record Mix(Map<Endpoint, Integer> weights) {
+
+        static Mix parse(String value) {
+            Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+            for (String entry : value.split(",")) {
+                String[] parts = entry.split(":");
+                if (parts.length != 2)
+                    throw new IllegalArgumentException("--mix entries must be endpoint:weight: " + entry);
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight < 0)
+                    throw new IllegalArgumentException("--mix weights cannot be negative: " + entry);
+                weights.put(Endpoint.of(parts[0]), weight);
+            }
+            if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0)
+                throw new IllegalArgumentException("--mix needs at least one endpoint with weight");
+            return new Mix(Collections.unmodifiableMap(weights));
+        }
+
+        Endpoint next(SplittableRandom random) {
+            int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+            int pick = random.nextInt(total);
+            for (var entry : weights.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0)
+                    return entry.getKey();
+            }
+            throw new IllegalStateException("Empty mix");
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            weights.forEach((endpoint, weight) -> {
+                if (!text.isEmpty())
+                    text.append(',');
+                text.append(endpoint.key()).append(':').append(weight);
+            });
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mx.raven.calculator.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Plain text report of a run and the checks against {@code --max-error-rate} and {@code --max-p99-ms}.
+ */
+record LoadTestReport(LoadTestOptions options, List<EndpointStats.Summary> summaries, long sent,
+                      long maxSchedulerLagNanos, long mailboxlayerCalls) {
+
+    private static final String ROW = "%-22s %9s %10s %8s %9s %9s %9s %9s %9s%n";
+
+    String format() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT,
+                "Target rate: %.1f req/s, warmup: %d s, measured: %d s, mix: %s, database: %s%n",
+                options.rate(), options.warmupSeconds(), options.durationSeconds(), options.mix(),
+                options.database().name().toLowerCase(Locale.ROOT)));
+        text.append(String.format(Locale.ROOT, "Requests sent in the measurement window: %d (%.1f req/s)%n",
+                sent, sent / (double) options.durationSeconds()));
+        text.append(String.format(Locale.ROOT, "Max scheduler lag: %.1f ms, mailboxlayer stub calls: %d%n%n",
+                millis(maxSchedulerLagNanos), mailboxlayerCalls));
+
+        text.append(String.format(Locale.ROOT, ROW,
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (var summary : summaries) {
+            text.append(String.format(Locale.ROOT, ROW,
+                    summary.endpoint().path(),
+                    summary.requests(),
+                    String.format(Locale.ROOT, "%.1f", summary.throughput()),
+                    String.format(Locale.ROOT, "%.2f%%", summary.errorRate() * 100),
+                    formatMillis(summary.p50()), formatMillis(summary.p90()), formatMillis(summary.p99()),
+                    formatMillis(summary.p999()), formatMillis(summary.max())));
+        }
+
+        for (var summary : summaries) {
+            if (!summary.errorsByCause().isEmpty())
+                text.append(String.format(Locale.ROOT, "%nErrors in %s: %s", summary.endpoint().path(),
+                        summary.errorsByCause()));
+        }
+        text.append(System.lineSeparator());
+        return text.toString();
+    }
+
+    /**
+     * Thresholds exceeded by any endpoint; empty when the run passes.
+     */
+    List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (var summary : summaries) {
+            if (summary.requests() == 0)
+                continue;
+            if (summary.errorRate() > options.maxErrorRate())
+                violations.add(String.format(Locale.ROOT, "%s error rate %.2f%% above %.2f%%",
+                        summary.endpoint().path(), summary.errorRate() * 100, options.maxErrorRate() * 100));
+            if (options.maxP99Ms() > 0 && millis(summary.p99()) > options.maxP99Ms())
+                violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms above %d ms",
+                        summary.endpoint().path(), millis(summary.p99()), options.maxP99Ms()));
+        }
+        return violations;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", millis(nanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
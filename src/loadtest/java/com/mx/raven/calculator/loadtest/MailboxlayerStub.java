@@ -0,0 +1,86 @@
+package com.mx.raven.calculator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for {@code /api/check} of mailboxlayer, so the load test runs offline. Every address is reported
+ * as deliverable after {@code latencyMs}, which stands for the SMTP check of the real API.
+ */
+final class MailboxlayerStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final AtomicLong calls = new AtomicLong();
+
+    private MailboxlayerStub(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/check", this::check);
+    }
+
+    static MailboxlayerStub start(long latencyMs) throws IOException {
+        var stub = new MailboxlayerStub(latencyMs);
+        stub.server.start();
+        return stub;
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/check";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    private void check(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try {
+            if (latencyMs > 0)
+                Thread.sleep(latencyMs);
+
+            String email = emailParameter(exchange.getRequestURI().getRawQuery());
+            int at = email.lastIndexOf('@');
+            String body = "{\"email\":\"" + email + "\",\"did_you_mean\":\"\","
+                    + "\"user\":\"" + email.substring(0, Math.max(at, 0)) + "\","
+                    + "\"domain\":\"" + email.substring(at + 1) + "\","
+                    + "\"format_valid\":true,\"mx_found\":true,\"smtp_check\":true,\"catch_all\":false,"
+                    + "\"role\":false,\"disposable\":false,\"free\":false,\"score\":0.96}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String emailParameter(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("email="))
+                    return URLDecoder.decode(parameter.substring("email=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.mx.raven.calculator.calculation;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+
+import java.math.RoundingMode;
+
+/**
+ * Scale and rounding applied to the result of a calculation.
+ */
+public record CalculationPrecision(int scale, RoundingMode roundingMode) {
+
+    public static final CalculationPrecision DEFAULT = new CalculationPrecision(1, RoundingMode.HALF_UP);
+    /**
+     * Scale of the {@code result} column, DECIMAL(65,30); a larger configured maximum is capped to it.
+     */
+    public static final int MAX_SCALE = 30;
+
+    public CalculationPrecision {
+        if (scale < 0)
+            throw new IllegalArgumentException("Scale cannot be negative");
+        if (roundingMode == null)
+            throw new IllegalArgumentException("Rounding mode cannot be null");
+    }
+
+    /**
+     * Precision requested by a client, falling back to the defaults for the missing values.
+     *
+     * @param maxScale configured maximum scale; values above {@link #MAX_SCALE} are capped, so a result is never
+     *                 returned with more digits than are stored
+     * @throws InvalidObjectException if the scale is outside {@code 0..maxScale} or the rounding mode is UNNECESSARY
+     */
+    public static CalculationPrecision resolve(Integer scale, RoundingMode roundingMode,
+                                               CalculationPrecision defaults, int maxScale) {
+        int limit = Math.min(maxScale, MAX_SCALE);
+        int resolvedScale = scale != null ? scale : defaults.scale();
+        if (resolvedScale < 0 || resolvedScale > limit)
+            throw new InvalidObjectException("Scale must be between 0 and " + limit);
+
+        var resolvedRoundingMode = roundingMode != null ? roundingMode : defaults.roundingMode();
+        if (resolvedRoundingMode == RoundingMode.UNNECESSARY)
+            throw new InvalidObjectException("Rounding mode UNNECESSARY is not supported");
+
+        return new CalculationPrecision(resolvedScale, resolvedRoundingMode);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mx.raven.calculator.calculation;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Computes the five basic operations with the result rounded to the scale and rounding mode of a
+ * {@link CalculationPrecision} (scale 1, HALF_UP by default).
+ */
+public final class OperationCalculator {
+
+    private OperationCalculator() {}
+
+    public static BigDecimal calculate(OperationType operation, BigDecimal operandA, BigDecimal operandB) {
+        return calculate(operation, operandA, operandB, CalculationPrecision.DEFAULT);
+    }
+
+    public static BigDecimal calculate(OperationType operation, BigDecimal operandA, BigDecimal operandB,
+                                       CalculationPrecision precision) {
+        int scale = precision.scale();
+        RoundingMode rounding = precision.roundingMode();
+
+        return switch (operation) {
+            case ADD -> operandA.add(operandB).setScale(scale, rounding);
+            case SUBTRACT -> operandA.subtract(operandB).setScale(scale, rounding);
+            case MULTIPLY -> operandA.multiply(operandB).setScale(scale, rounding);
+            case DIVIDE -> operandA.divide(operandB, scale, rounding);
+            case SQRT -> sqrt(operandA, scale, rounding);
+        };
+    }
+
+    /**
+     * Square root of a non-negative value, correctly rounded to {@code scale} with {@code rounding}.
+     * The root is truncated with enough digits that no rounding boundary of the requested scale can fall
+     * between the truncated value and the exact root, so the result does not suffer double rounding.
+     */
+    public static BigDecimal sqrt(BigDecimal value, int scale, RoundingMode rounding) {
+        //Cota de los dígitos enteros de la raíz + escala pedida + 2 de guarda
+        int digits = Math.max(value.precision(), value.precision() - value.scale()) + scale + 2;
+        var truncated = value.sqrt(new MathContext(digits, RoundingMode.DOWN));
+
+        if (truncated.multiply(truncated).compareTo(value) == 0)
+            return truncated.setScale(scale, rounding);
+
+        //Raíz inexacta: está estrictamente por encima de truncated y sin llegar al siguiente límite de redondeo
+        return switch (rounding) {
+            case DOWN, FLOOR -> truncated.setScale(scale, RoundingMode.DOWN);
+            case UP, CEILING -> truncated.setScale(scale, RoundingMode.DOWN).add(BigDecimal.ONE.movePointLeft(scale));
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> truncated.setScale(scale, RoundingMode.HALF_UP);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    }
+}
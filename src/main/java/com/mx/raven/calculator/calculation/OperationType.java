@@ -0,0 +1,66 @@
+package com.mx.raven.calculator.calculation;
+
+import java.util.Arrays;
+
+/**
+ * The five operations of {@code POST /calculate}. {@link #lookup} resolves the request parameter ignoring ASCII case,
+ * without lowercasing the string: candidates are indexed by name length, so at most two names are compared.
+ */
+public enum OperationType {
+    ADD("add"),
+    SUBTRACT("subtract"),
+    MULTIPLY("multiply"),
+    DIVIDE("divide"),
+    SQRT("sqrt");
+
+    private static final OperationType[][] BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (var type : values()) {
+            maxLength = Math.max(maxLength, type.key.length());
+        }
+        BY_LENGTH = new OperationType[maxLength + 1][0];
+        for (var type : values()) {
+            var candidates = BY_LENGTH[type.key.length()];
+            candidates = Arrays.copyOf(candidates, candidates.length + 1);
+            candidates[candidates.length - 1] = type;
+            BY_LENGTH[type.key.length()] = candidates;
+        }
+    }
+
+    private final String key;
+
+    OperationType(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Lowercase name, used as the {@code operation} tag of the calculation metrics.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return the operation named {@code name} in any ASCII case, or {@code null} if there is none
+     */
+    public static OperationType lookup(String name) {
+        if (name == null || name.length() >= BY_LENGTH.length)
+            return null;
+        for (var candidate : BY_LENGTH[name.length()]) {
+            if (candidate.matches(name))
+                return candidate;
+        }
+        return null;
+    }
+
+    //Los nombres son minúsculas ASCII: c | 0x20 solo coincide con la letra en minúscula o en mayúscula
+    private boolean matches(String name) {
+        for (int i = 0; i < key.length(); i++) {
+            if ((name.charAt(i) | 0x20) != key.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mx.raven.calculator.calculation;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Validation and calculation of a requested operation, shared by the servlet and reactive services. It is CPU only
+ * and does not touch the database, so the reactive stack can run it on the event loop.
+ */
+@Component
+@Slf4j
+public class UserOperationCalculator {
+
+    private final UserOperationSaveValidator validator;
+    private final CalculationPrecision defaults;
+    private final int maxScale;
+
+    public UserOperationCalculator(UserOperationSaveValidator validator,
+                                   @Value("${calculator.calculation.default-scale}") int defaultScale,
+                                   @Value("${calculator.calculation.default-rounding-mode}") RoundingMode defaultRoundingMode,
+                                   @Value("${calculator.calculation.max-scale}") int maxScale) {
+        this.validator = validator;
+        this.defaults = new CalculationPrecision(defaultScale, defaultRoundingMode);
+        this.maxScale = maxScale;
+    }
+
+    /**
+     * Precision requested by a client, with the configured defaults and maximum scale.
+     *
+     * @throws InvalidObjectException if the scale or rounding mode is not accepted
+     */
+    public CalculationPrecision resolvePrecision(Integer scale, RoundingMode roundingMode) {
+        return CalculationPrecision.resolve(scale, roundingMode, defaults, maxScale);
+    }
+
+    /**
+     * Validates the operation and stores its result in {@code requestDto}.
+     *
+     * @return the resolved operation type
+     * @throws InvalidObjectException if the operation is not valid
+     */
+    public OperationType calculate(UserOperationDTO requestDto, CalculationPrecision precision) {
+        var type = validator.validateOperation(requestDto);
+        log.debug("Valid operation.");
+
+        requestDto.setResult(OperationCalculator.calculate(type, requestDto.getOperandA(), requestDto.getOperandB(),
+                precision));
+        return type;
+    }
+
+    /**
+     * One element of a batch or stream. A valid operation is completed with its result, timestamp and user and added
+     * to {@code validOperations} to be saved with the rest; an invalid one is reported with its error and index.
+     */
+    public BatchOperationResultDTO calculateItem(int index, UserOperationDTO requestDto, CalculationPrecision precision,
+                                                 Long userId, LocalDateTime timestamp,
+                                                 List<UserOperationDTO> validOperations) {
+        try {
+            calculate(requestDto, precision);
+            requestDto.setId(null);
+            requestDto.setTimestamp(timestamp);
+            requestDto.setUserId(userId);
+
+            validOperations.add(requestDto);
+            return new BatchOperationResultDTO(index, requestDto, null);
+        } catch (InvalidObjectException | ArithmeticException e) {
+            //Guardado: el índice se convertiría a Integer aunque DEBUG esté desactivado
+            if (log.isDebugEnabled())
+                log.debug("Invalid operation at index {}: {}", index, e.getMessage());
+            return new BatchOperationResultDTO(index, null, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mx.raven.calculator.config;
+
+import com.mx.raven.calculator.email.DisposableDomainSet;
+import com.mx.raven.calculator.email.DnsMxResolver;
+import com.mx.raven.calculator.email.MxResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Local data used by the offline email validation engine ({@code calculator.email-validation.engine=offline}):
+ * the disposable domain list and the cached DNS MX resolver.
+ */
+@Configuration
+@ConditionalOnProperty(name = "calculator.email-validation.engine", havingValue = "offline")
+@Slf4j
+public class OfflineEmailValidationConfig {
+
+    @Bean
+    public DisposableDomainSet disposableDomainSet(
+            @Value("${calculator.email-validation.disposable-domains}") Resource resource) throws IOException {
+        long start = System.nanoTime();
+        DisposableDomainSet domains;
+        try (var input = resource.getInputStream()) {
+            domains = DisposableDomainSet.load(input);
+        }
+        log.info("Loaded {} disposable domains from {} in {} ms", domains.size(), resource.getDescription(),
+                (System.nanoTime() - start) / 1_000_000);
+        return domains;
+    }
+
+    @Bean
+    public MxResolver mxResolver(MeterRegistry meterRegistry,
+            @Value("${calculator.email-validation.dns.servers:}") String servers,
+            @Value("${calculator.email-validation.dns.timeout-ms}") long timeoutMs,
+            @Value("${calculator.email-validation.dns.retries}") int retries,
+            @Value("${calculator.email-validation.dns.cache.max-size}") long maxSize,
+            @Value("${calculator.email-validation.dns.cache.found-ttl-ms}") long foundTtlMs,
+            @Value("${calculator.email-validation.dns.cache.not-found-ttl-ms}") long notFoundTtlMs) {
+        return new DnsMxResolver(servers, timeoutMs, retries, maxSize, foundTtlMs, notFoundTtlMs, meterRegistry);
+    }
+}
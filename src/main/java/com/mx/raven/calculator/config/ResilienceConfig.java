@@ -0,0 +1,85 @@
+package com.mx.raven.calculator.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead around the mailboxlayer call. State, calls and rejections are published as
+ * {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*} metrics.
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    public static final String MAILBOXLAYER = "mailboxlayer";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        var registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        var registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreaker mailboxlayerCircuitBreaker(CircuitBreakerRegistry registry,
+            @Value("${mailboxlayer.resilience.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${mailboxlayer.resilience.slow-call-duration-ms}") long slowCallDurationMs,
+            @Value("${mailboxlayer.resilience.sliding-window-size}") int slidingWindowSize,
+            @Value("${mailboxlayer.resilience.minimum-number-of-calls}") int minimumNumberOfCalls,
+            @Value("${mailboxlayer.resilience.open-state-duration-ms}") long openStateDurationMs,
+            @Value("${mailboxlayer.resilience.half-open-calls}") int halfOpenCalls) {
+        var config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openStateDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .build();
+
+        var circuitBreaker = registry.circuitBreaker(MAILBOXLAYER, config);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Mailboxlayer circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead mailboxlayerBulkhead(BulkheadRegistry registry, MeterRegistry meterRegistry,
+            @Value("${mailboxlayer.resilience.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${mailboxlayer.resilience.max-wait-ms}") long maxWaitMs) {
+        var config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build();
+
+        var bulkhead = registry.bulkhead(MAILBOXLAYER, config);
+        var rejected = Counter.builder("resilience4j.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was full")
+                .tag("name", MAILBOXLAYER)
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+        return bulkhead;
+    }
+}
@@ -1,14 +1,76 @@
 package com.mx.raven.calculator.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP client: Apache HttpClient 5 with a connection pool, so calls to the same host reuse
+ * keep-alive connections instead of opening (and handshaking) a new one per request.
+ * Pool usage is published as {@code httpcomponents.httpclient.pool.*} metrics with {@code httpclient=outbound}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager outboundConnectionManager(MeterRegistry meterRegistry,
+            @Value("${calculator.http-client.connect-timeout-ms}") long connectTimeoutMs,
+            @Value("${calculator.http-client.read-timeout-ms}") long readTimeoutMs,
+            @Value("${calculator.http-client.max-total}") int maxTotal,
+            @Value("${calculator.http-client.max-per-route}") int maxPerRoute,
+            @Value("${calculator.http-client.time-to-live-ms}") long timeToLiveMs) {
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        //Una conexión inactiva más de 2 s se comprueba antes de reutilizarla
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager connectionManager,
+            @Value("${calculator.http-client.connection-request-timeout-ms}") long connectionRequestTimeoutMs,
+            @Value("${calculator.http-client.read-timeout-ms}") long readTimeoutMs,
+            @Value("${calculator.http-client.keep-alive-ms}") long keepAliveMs,
+            @Value("${calculator.http-client.idle-eviction-ms}") long idleEvictionMs) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        //Keep-alive cuando el servidor no envía la cabecera Keep-Alive
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.mx.raven.calculator.controllers;
+
+import com.mx.raven.calculator.model.dto.ExpressionRequestDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.UserOperationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(path = "calculate/expression")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Calculator", description = "API for performing calculator operations")
+public class ExpressionController {
+
+    private final UserOperationService userOperationService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @Operation(
+        summary = "Evaluate an expression",
+        description = "Evaluates an arithmetic expression such as (a + b) * sqrt(c) / 2 with the given variables " +
+                "and stores the result in the operation history. Supports + - * / % ^, parentheses and the " +
+                "functions sqrt, abs, min and max",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Expression evaluated",
+                    content = @Content(schema = @Schema(implementation = UserOperationDTO.class)))
+    })
+    @PostMapping
+    public ResponseEntity<UserOperationDTO> evaluate(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Expression and variable values")
+            @RequestBody ExpressionRequestDTO request,
+            @Parameter(description = "JWT token with Bearer prefix", hidden = true)
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+        log.info("Received expression request");
+        log.debug("Expression: {}, variables: {}", request.getExpression(), request.getVariables());
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        var result = userOperationService.calculateExpression(request.getExpression(), request.getVariables(), token);
+
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,180 @@
+package com.mx.raven.calculator.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.OperationHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping(path = "history/export")
+@Slf4j
+@Tag(name = "Operation History", description = "API for managing calculation history")
+public class HistoryExportController {
+
+    private static final String CSV_HEADER = "id,userId,operation,operandA,operandB,result,timestamp,expression\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OperationHistoryService operationHistoryService;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ObjectWriter operationWriter;
+
+    public HistoryExportController(OperationHistoryService operationHistoryService, JwtTokenUtil jwtTokenUtil,
+                                   ObjectMapper objectMapper) {
+        this.operationHistoryService = operationHistoryService;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.operationWriter = objectMapper.writerFor(UserOperationDTO.class);
+    }
+
+    @Operation(
+        summary = "Export operation history",
+        description = "Streams the whole operation history, newest first, as CSV or NDJSON. Rows are written as they " +
+                "are read from the database, so the size of the history does not affect memory use",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History exported")
+    })
+    @GetMapping
+    public void exportHistory(
+            @Parameter(description = "Output format: csv or ndjson")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Compress the response with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Parameter(description = "Filter by operation type (ADD, SUBTRACT, MULTIPLY, DIVIDE, SQRT)")
+            @RequestParam(required = false) Optional<String> operationType,
+            @Parameter(description = "Filter by start date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> startDate,
+            @Parameter(description = "Filter by end date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> endDate,
+            @Parameter(description = "JWT token with Bearer prefix", hidden = true)
+            @RequestHeader(value = "Authorization") String authorizationHeader,
+            HttpServletResponse response) throws IOException {
+
+        log.info("Exporting operation history");
+        if (log.isDebugEnabled())
+            log.debug("format: {}, gzip: {}, operationType: {}, startDate: {}, endDate: {}",
+                    format, gzip, operationType, startDate, endDate);
+
+        var exportFormat = ExportFormat.of(format);
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+
+        response.setContentType(exportFormat.contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"history." + exportFormat.extension + "\"");
+        if (gzip)
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        OutputStream output = gzip ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE) : response.getOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (exportFormat == ExportFormat.CSV)
+                writer.write(CSV_HEADER);
+
+            long exported = operationHistoryService.exportOperations(operationType, startDate, endDate, token, operation -> {
+                try {
+                    if (exportFormat == ExportFormat.CSV)
+                        writeCsv(writer, operation);
+                    else
+                        writeNdjson(writer, operation);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.debug("Exported {} operations", exported);
+        }
+    }
+
+    private void writeNdjson(Writer writer, UserOperationDTO operation) throws IOException {
+        try {
+            writer.write(operationWriter.writeValueAsString(operation));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsv(Writer writer, UserOperationDTO operation) throws IOException {
+        writer.write(String.valueOf(operation.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(operation.getUserId()));
+        writer.write(',');
+        writeCsvText(writer, operation.getOperation());
+        writer.write(',');
+        writeCsvNumber(writer, operation.getOperandA());
+        writer.write(',');
+        writeCsvNumber(writer, operation.getOperandB());
+        writer.write(',');
+        writeCsvNumber(writer, operation.getResult());
+        writer.write(',');
+        if (operation.getTimestamp() != null)
+            writer.write(operation.getTimestamp().toString());
+        writer.write(',');
+        writeCsvText(writer, operation.getExpression());
+        writer.write('\n');
+    }
+
+    private static void writeCsvNumber(Writer writer, BigDecimal value) throws IOException {
+        if (value != null)
+            writer.write(value.toPlainString());
+    }
+
+    //RFC 4180: entre comillas si contiene separador, comillas o saltos de línea; las comillas se duplican
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null)
+            return;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON(OperationStreamController.APPLICATION_NDJSON, "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static ExportFormat of(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidObjectException("Format must be csv or ndjson");
+            }
+        }
+    }
+}
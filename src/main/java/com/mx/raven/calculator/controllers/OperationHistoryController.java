@@ -1,5 +1,6 @@
 package com.mx.raven.calculator.controllers;
 
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.security.JwtTokenUtil;
 import com.mx.raven.calculator.service.OperationHistoryService;
@@ -55,8 +56,9 @@ public class OperationHistoryController {
             @RequestHeader(value = "Authorization") String authorizationHeader) {
 
         log.info("Getting operation history");
-        log.debug("operationType: {}, startDate: {}, endDate: {}, pageable: {}",
-                operationType, startDate, endDate, pageable);
+        if (log.isDebugEnabled())
+            log.debug("operationType: {}, startDate: {}, endDate: {}, pageable: {}",
+                    operationType, startDate, endDate, pageable);
 
         String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
         Page<UserOperationDTO> operations = operationHistoryService.getOperations(
@@ -65,6 +67,42 @@ public class OperationHistoryController {
         return ResponseEntity.ok(operations);
     }
 
+    @Operation(
+        summary = "Get operation history by cursor",
+        description = "Retrieves the history of calculations, newest first, using keyset pagination. " +
+                "Send the nextCursor of a response to get the following page. No total count is calculated",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved operation history")
+    })
+    @GetMapping(path = "cursor")
+    public ResponseEntity<CursorPageDTO<UserOperationDTO>> getHistoryByCursor(
+            @Parameter(description = "Filter by operation type (ADD, SUBTRACT, MULTIPLY, DIVIDE, SQRT)")
+            @RequestParam(required = false) Optional<String> operationType,
+            @Parameter(description = "Filter by start date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> startDate,
+            @Parameter(description = "Filter by end date (ISO format)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> endDate,
+            @Parameter(description = "Cursor returned by the previous page, empty for the first page")
+            @RequestParam(required = false) Optional<String> cursor,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "JWT token with Bearer prefix", hidden = true)
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+
+        log.info("Getting operation history by cursor");
+        if (log.isDebugEnabled())
+            log.debug("operationType: {}, startDate: {}, endDate: {}, cursor: {}, size: {}",
+                    operationType, startDate, endDate, cursor, size);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        var operations = operationHistoryService.getOperationsByCursor(
+                operationType, startDate, endDate, cursor, size, token);
+
+        return ResponseEntity.ok(operations);
+    }
+
     @Operation(
         summary = "Get operation by ID", 
         description = "Retrieves a specific calculation by its ID",
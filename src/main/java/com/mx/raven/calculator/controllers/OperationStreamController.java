@@ -0,0 +1,165 @@
+package com.mx.raven.calculator.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.UserOperationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping(path = "calculate/stream")
+@Slf4j
+@Tag(name = "Calculator", description = "API for performing calculator operations")
+public class OperationStreamController {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    //Una operación ocupa menos de 200 caracteres; el límite evita cargar en memoria una línea sin fin
+    private static final int MAX_LINE_LENGTH = 4096;
+
+    private final UserOperationService userOperationService;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ObjectReader operationReader;
+    private final ObjectWriter resultWriter;
+
+    public OperationStreamController(UserOperationService userOperationService, JwtTokenUtil jwtTokenUtil,
+                                     ObjectMapper objectMapper) {
+        this.userOperationService = userOperationService;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.operationReader = objectMapper.readerFor(UserOperationDTO.class);
+        this.resultWriter = objectMapper.writerFor(BatchOperationResultDTO.class);
+    }
+
+    @Operation(
+        summary = "Perform a stream of calculations",
+        description = "Reads newline-delimited JSON operations (operation, operandA, operandB) from the request body " +
+                "and writes one JSON result per line as they are calculated. Operations are stored in batches and " +
+                "memory use does not depend on the number of operations. Invalid lines are reported individually",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream processed, one result per input line")
+    })
+    @PostMapping(consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public void calculateStream(
+            @Parameter(description = "Decimal places of every result (default 1)")
+            @RequestParam(required = false) Integer scale,
+            @Parameter(description = "Rounding mode of every result (default HALF_UP)")
+            @RequestParam(required = false) RoundingMode roundingMode,
+            @Parameter(description = "JWT token with Bearer prefix", hidden = true)
+            @RequestHeader(value = "Authorization") String authorizationHeader,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("Received stream calculation request");
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+
+        //Se escribe directamente en la respuesta en el hilo de la petición: sin el timeout de las peticiones asíncronas
+        var input = new NdjsonOperations(new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+        OutputStream output = response.getOutputStream();
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        int processed = userOperationService.calculateStream(input, scale, roundingMode, token, chunk -> {
+            try {
+                for (var result : chunk) {
+                    output.write(resultWriter.writeValueAsBytes(result));
+                    output.write('\n');
+                }
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        log.debug("Stream calculation finished: {} operations", processed);
+    }
+
+    /**
+     * Operations of an NDJSON body, parsed one line at a time. Blank lines are skipped; a malformed or overlong
+     * line throws {@link InvalidObjectException} from {@link #next()} and reading continues with the next line.
+     */
+    private class NdjsonOperations implements Iterator<UserOperationDTO> {
+
+        private final BufferedReader reader;
+        private final StringBuilder line = new StringBuilder();
+        private String pending;
+        private boolean tooLong;
+        private boolean finished;
+
+        NdjsonOperations(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && !tooLong && !finished)
+                readLine();
+            return pending != null || tooLong;
+        }
+
+        @Override
+        public UserOperationDTO next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            if (tooLong) {
+                tooLong = false;
+                throw new InvalidObjectException("Line cannot be longer than " + MAX_LINE_LENGTH + " characters");
+            }
+
+            String json = pending;
+            pending = null;
+            try {
+                return operationReader.readValue(json);
+            } catch (JsonProcessingException e) {
+                throw new InvalidObjectException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        private void readLine() {
+            line.setLength(0);
+            try {
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (line.length() < MAX_LINE_LENGTH)
+                        line.append((char) c);
+                    else
+                        tooLong = true;
+                }
+                if (c == -1)
+                    finished = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (!tooLong && !line.toString().isBlank())
+                pending = line.toString();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.mx.raven.calculator.controllers;
 
 import com.mx.raven.calculator.model.AuthenticationRequest;
 import com.mx.raven.calculator.model.AuthenticationResponse;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO;
 import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.service.AsyncRegistrationService;
 import com.mx.raven.calculator.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,10 +16,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping(path = "auth")
@@ -27,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final AsyncRegistrationService asyncRegistrationService;
 
     @Operation(summary = "Register a new user", description = "Creates a new user account with the provided information")
     @ApiResponses(value = {
@@ -41,6 +47,36 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(registeredUser);
     }
 
+    @Operation(summary = "Register a new user asynchronously",
+            description = "Queues the registration and returns its id; email validation and password hashing run in the background. " +
+                    "Poll the URL in the Location header for the result")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Registration accepted",
+                    content = @Content(schema = @Schema(implementation = RegistrationStatusDTO.class))),
+        @ApiResponse(responseCode = "503", description = "Too many registrations in progress")
+    })
+    @PostMapping(path = "register/async")
+    public ResponseEntity<RegistrationStatusDTO> registerUserAsync(@RequestBody UserDTO userDTO) {
+        log.info("Received async registration request for user.");
+        RegistrationStatusDTO registration = asyncRegistrationService.submit(userDTO);
+        var location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/auth/register/{id}")
+                .buildAndExpand(registration.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(registration);
+    }
+
+    @Operation(summary = "Get registration status", description = "Returns the state of an asynchronous registration")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Registration found",
+                    content = @Content(schema = @Schema(implementation = RegistrationStatusDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired registration id")
+    })
+    @GetMapping(path = "register/{id}")
+    public ResponseEntity<RegistrationStatusDTO> getRegistrationStatus(@PathVariable String id) {
+        return ResponseEntity.ok(asyncRegistrationService.getStatus(id));
+    }
+
     @Operation(summary = "Authenticate user", description = "Authenticates a user and returns a JWT token")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Authentication successful", 
@@ -1,10 +1,12 @@
 package com.mx.raven.calculator.controllers;
 
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.security.JwtTokenUtil;
 import com.mx.raven.calculator.service.UserOperationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +19,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "calculate")
@@ -45,14 +49,50 @@ public class UserOperationController {
             @RequestParam BigDecimal operandA,
             @Parameter(description = "Second operand") 
             @RequestParam BigDecimal operandB,
+            @Parameter(description = "Decimal places of the result (default 1)")
+            @RequestParam(required = false) Integer scale,
+            @Parameter(description = "Rounding mode of the result (default HALF_UP)")
+            @RequestParam(required = false) RoundingMode roundingMode,
             @Parameter(description = "JWT token with Bearer prefix", hidden = true)
             @RequestHeader(value = "Authorization") String authorizationHeader) {
         log.info("Received calculation request");
-        log.debug("Operation: {}, operandA: {}, operandB: {}", operation, operandA, operandB);
+        //Con más de dos argumentos SLF4J recibe un Object[], que se crearía aunque DEBUG esté desactivado
+        if (log.isDebugEnabled())
+            log.debug("Operation: {}, operandA: {}, operandB: {}, scale: {}, roundingMode: {}",
+                    operation, operandA, operandB, scale, roundingMode);
 
         String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
-        var result = userOperationService.calculate(operation, operandA, operandB, token);
+        var result = userOperationService.calculate(operation, operandA, operandB, scale, roundingMode, token);
 
         return ResponseEntity.ok(result);
     }
+
+    @Operation(
+        summary = "Perform a batch of calculations",
+        description = "Validates, calculates and stores a list of operations in a single request. " +
+                "Invalid operations are reported individually without failing the whole batch",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchOperationResultDTO.class))))
+    })
+    @PostMapping(path = "batch")
+    public ResponseEntity<List<BatchOperationResultDTO>> calculateBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Operations to perform (operation, operandA, operandB)")
+            @RequestBody List<UserOperationDTO> operations,
+            @Parameter(description = "Decimal places of every result (default 1)")
+            @RequestParam(required = false) Integer scale,
+            @Parameter(description = "Rounding mode of every result (default HALF_UP)")
+            @RequestParam(required = false) RoundingMode roundingMode,
+            @Parameter(description = "JWT token with Bearer prefix", hidden = true)
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+        log.info("Received batch calculation request");
+        log.debug("Batch size: {}", operations.size());
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        var results = userOperationService.calculateBatch(operations, scale, roundingMode, token);
+
+        return ResponseEntity.ok(results);
+    }
 }
@@ -0,0 +1,93 @@
+package com.mx.raven.calculator.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Set of disposable email domains stored as a sorted array of 64-bit hashes, 8 bytes per domain, so lists with
+ * millions of entries fit in a few tens of megabytes and each lookup is a binary search without allocations.
+ * A domain matches when it or any of its parent domains is in the set. With 64-bit hashes the chance of a false
+ * positive stays negligible (below 1e-6 for ten million domains).
+ */
+public final class DisposableDomainSet {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] hashes;
+
+    private DisposableDomainSet(long[] hashes) {
+        this.hashes = hashes;
+    }
+
+    /**
+     * Reads one domain per line; blank lines and lines starting with {@code #} are skipped.
+     */
+    public static DisposableDomainSet load(InputStream input) throws IOException {
+        long[] hashes = new long[1024];
+        int size = 0;
+        try (var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String domain = line.trim();
+                if (domain.isEmpty() || domain.charAt(0) == '#')
+                    continue;
+                if (size == hashes.length)
+                    hashes = Arrays.copyOf(hashes, size * 2);
+                hashes[size++] = hash(domain.toLowerCase(Locale.ROOT), 0);
+            }
+        }
+        return new DisposableDomainSet(sortedUnique(hashes, size));
+    }
+
+    public static DisposableDomainSet of(String... domains) {
+        long[] hashes = new long[domains.length];
+        for (int i = 0; i < domains.length; i++)
+            hashes[i] = hash(domains[i].toLowerCase(Locale.ROOT), 0);
+        return new DisposableDomainSet(sortedUnique(hashes, hashes.length));
+    }
+
+    /**
+     * @param domain normalized (lower case) domain, e.g. {@code mx.mailinator.com}
+     */
+    public boolean contains(String domain) {
+        //Se prueba el dominio y cada dominio padre con al menos un punto: a.b.mailinator.com, b.mailinator.com, mailinator.com
+        int start = 0;
+        int dot;
+        while ((dot = domain.indexOf('.', start)) > start) {
+            if (Arrays.binarySearch(hashes, hash(domain, start)) >= 0)
+                return true;
+            start = dot + 1;
+        }
+        return false;
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    private static long[] sortedUnique(long[] hashes, int size) {
+        Arrays.sort(hashes, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || hashes[i] != hashes[unique - 1])
+                hashes[unique++] = hashes[i];
+        }
+        return Arrays.copyOf(hashes, unique);
+    }
+
+    //FNV-1a de 64 bits sobre domain[from..], sin crear el substring
+    private static long hash(String domain, int from) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = from; i < domain.length(); i++) {
+            hash ^= domain.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
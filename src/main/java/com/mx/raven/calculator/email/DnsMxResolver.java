@@ -0,0 +1,123 @@
+package com.mx.raven.calculator.email;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.directory.InitialDirContext;
+import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MxResolver} over the JDK DNS provider (JNDI), using the system resolvers unless servers are configured.
+ * Definitive answers are cached, with a shorter time to live for domains without MX; timeouts and server
+ * failures are not cached so the next registration retries the lookup.
+ */
+@Slf4j
+public class DnsMxResolver implements MxResolver {
+
+    private static final String[] MX = {"MX"};
+
+    private final Hashtable<String, String> environment = new Hashtable<>();
+    private final Cache<String, Result> results;
+
+    /**
+     * @param servers DNS servers as {@code host[:port]} separated by spaces; blank to use the system configuration
+     */
+    public DnsMxResolver(String servers, long timeoutMillis, int retries, long maxSize,
+                         long foundTtlMillis, long notFoundTtlMillis, MeterRegistry meterRegistry) {
+        environment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        environment.put(Context.PROVIDER_URL, providerUrl(servers));
+        environment.put("com.sun.jndi.dns.timeout.initial", Long.toString(timeoutMillis));
+        environment.put("com.sun.jndi.dns.timeout.retries", Integer.toString(retries));
+
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Result>() {
+                    @Override
+                    public long expireAfterCreate(String key, Result value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(value == Result.FOUND ? foundTtlMillis : notFoundTtlMillis);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Result value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Result value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "email.mx");
+    }
+
+    @Override
+    public Result lookup(String domain) {
+        //Igual que en la caché de mailboxlayer: get(key, loader) bloquearía la entrada mientras dura la consulta DNS
+        var cached = results.getIfPresent(domain);
+        if (cached != null)
+            return cached;
+
+        var result = query(domain);
+        if (result != Result.UNKNOWN)
+            results.put(domain, result);
+        return result;
+    }
+
+    Result query(String domain) {
+        InitialDirContext context = null;
+        try {
+            //InitialDirContext no es thread-safe; se crea uno por consulta, la caché absorbe el coste
+            context = new InitialDirContext(environment);
+            var records = context.getAttributes(domain, MX).get("MX");
+            if (records == null || records.size() == 0)
+                return Result.NOT_FOUND;
+
+            //MX nulo de RFC 7505 ("0 ."): el dominio declara que no acepta correo
+            if (records.size() == 1 && isNullMx(String.valueOf(records.get())))
+                return Result.NOT_FOUND;
+            return Result.FOUND;
+        } catch (NameNotFoundException e) {
+            return Result.NOT_FOUND;
+        } catch (NamingException e) {
+            log.warn("MX lookup for {} failed: {}", domain, e.getMessage());
+            return Result.UNKNOWN;
+        } finally {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (NamingException e) {
+                    log.debug("Error closing DNS context: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static boolean isNullMx(String record) {
+        var parts = record.trim().split("\\s+");
+        return parts.length == 2 && parts[1].equals(".");
+    }
+
+    private static String providerUrl(String servers) {
+        if (servers == null || servers.isBlank())
+            return "dns:";
+
+        var url = new StringBuilder();
+        for (String server : servers.trim().split("\\s+")) {
+            if (!url.isEmpty())
+                url.append(' ');
+            url.append("dns://").append(server);
+        }
+        return url.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mx.raven.calculator.email;
+
+import java.util.regex.Pattern;
+
+/**
+ * Local format check for already normalized (trimmed, lower case) addresses. Only plain dot-atom addresses are
+ * accepted locally; quoted local parts, internationalized addresses and similar edge cases are reported as
+ * inconclusive so the caller can defer to the external API.
+ */
+public final class EmailFormat {
+
+    public enum Result { VALID, INVALID, INCONCLUSIVE }
+
+    //Límites de RFC 5321 para la parte local y la dirección completa
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LENGTH = 254;
+
+    private static final Pattern DOT_ATOM = Pattern.compile(
+            "^[a-z0-9!#$%&'*+/=?^_`{|}~-]+(\\.[a-z0-9!#$%&'*+/=?^_`{|}~-]+)*" +
+            "@([a-z0-9]([a-z0-9-]{0,61}[a-z0-9])?\\.)+[a-z]([a-z0-9-]{0,61}[a-z0-9])?$");
+
+    private EmailFormat() {}
+
+    public static Result check(String email) {
+        int at = email.lastIndexOf('@');
+        if (at <= 0 || at == email.length() - 1 || email.length() > MAX_LENGTH || at > MAX_LOCAL_LENGTH)
+            return Result.INVALID;
+        for (int i = 0; i < email.length(); i++) {
+            if (Character.isWhitespace(email.charAt(i)))
+                return Result.INVALID;
+        }
+        if (email.indexOf('.', at) < 0)
+            return Result.INVALID;
+
+        return DOT_ATOM.matcher(email).matches() ? Result.VALID : Result.INCONCLUSIVE;
+    }
+}
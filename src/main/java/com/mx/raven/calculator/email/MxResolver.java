@@ -0,0 +1,12 @@
+package com.mx.raven.calculator.email;
+
+/**
+ * Resolves whether a domain publishes MX records. Implementations must not throw on DNS failures:
+ * anything that is not a definitive answer is reported as {@link Result#UNKNOWN}.
+ */
+public interface MxResolver {
+
+    enum Result { FOUND, NOT_FOUND, UNKNOWN }
+
+    Result lookup(String domain);
+}
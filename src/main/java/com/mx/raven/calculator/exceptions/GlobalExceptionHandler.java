@@ -6,6 +6,7 @@ import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -77,6 +78,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiErrorDTO);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handlerException(ServiceUnavailableException e, HttpServletRequest request) {
+        ApiErrorDTO apiErrorDTO = new ApiErrorDTO();
+        generalControlledExceptions(request, e, apiErrorDTO);
+
+        log.warn("Service temporarily unavailable: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiErrorDTO);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<?> handlerException(BadCredentialsException e, HttpServletRequest request) {
         ApiErrorDTO apiErrorDTO = new ApiErrorDTO();
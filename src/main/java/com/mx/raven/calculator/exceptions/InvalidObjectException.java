@@ -12,4 +12,16 @@ public class InvalidObjectException extends RuntimeException{
         super(message, cause);
     }
 
+    private InvalidObjectException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    /**
+     * For input rejected by validation, which is expected and fully described by the message: the stack trace,
+     * most of the cost of creating an exception, is not captured.
+     */
+    public static InvalidObjectException rejected(String message) {
+        return new InvalidObjectException(message, false);
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.mx.raven.calculator.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException() {
+    }
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mx.raven.calculator.expression;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Evaluates arithmetic expressions with variables. Parsed trees are kept in a bounded cache keyed by the
+ * expression text, so repeated formulas skip tokenizing and parsing. Expressions that fail to parse are not cached.
+ */
+@Component
+public class ExpressionEngine {
+
+    private final Cache<String, ExpressionNode> compiled;
+    private final MathContext mathContext;
+    private final int maxLength;
+
+    public ExpressionEngine(@Value("${calculator.expression.cache.max-size}") long cacheMaxSize,
+                            @Value("${calculator.expression.precision}") int precision,
+                            @Value("${calculator.expression.max-length}") int maxLength) {
+        if (precision <= 0)
+            throw new IllegalArgumentException("calculator.expression.precision must be greater than zero");
+
+        this.compiled = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .build();
+        this.mathContext = new MathContext(precision, RoundingMode.HALF_UP);
+        this.maxLength = maxLength;
+    }
+
+    public BigDecimal evaluate(String expression, Map<String, BigDecimal> variables) {
+        var node = compile(expression);
+        try {
+            return ExpressionEvaluator.evaluate(node, variables == null ? Map.of() : variables, mathContext);
+        } catch (ArithmeticException e) {
+            //Overflow/underflow del exponente de BigDecimal
+            throw new InvalidObjectException("Expression cannot be evaluated: " + e.getMessage(), e);
+        }
+    }
+
+    public ExpressionNode compile(String expression) {
+        if (StringUtils.isBlank(expression))
+            throw new InvalidObjectException("Expression cannot be null or empty");
+        if (expression.length() > maxLength)
+            throw new InvalidObjectException("Expression cannot be longer than " + maxLength + " characters");
+
+        return compiled.get(expression, ExpressionParser::parse);
+    }
+
+    public long cacheSize() {
+        compiled.cleanUp();
+        return compiled.estimatedSize();
+    }
+}
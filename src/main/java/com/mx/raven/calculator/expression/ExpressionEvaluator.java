@@ -0,0 +1,93 @@
+package com.mx.raven.calculator.expression;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+
+/**
+ * Evaluates an {@link ExpressionNode} over {@link BigDecimal}, rounding every intermediate result
+ * with the given {@link MathContext}.
+ */
+public final class ExpressionEvaluator {
+
+    //Ningún resultado que quepa en DECIMAL(65,30) necesita más; acota la escala de los resultados intermedios
+    static final int MAX_EXPONENT = 9_999;
+
+    private ExpressionEvaluator() {}
+
+    public static BigDecimal evaluate(ExpressionNode node, Map<String, BigDecimal> variables, MathContext mathContext) {
+        return switch (node) {
+            case ExpressionNode.Number number -> number.value();
+            case ExpressionNode.Variable variable -> variable(variable.name(), variables);
+            case ExpressionNode.Negate negate -> evaluate(negate.operand(), variables, mathContext).negate(mathContext);
+            case ExpressionNode.Binary binary -> binary(binary.operator(),
+                    evaluate(binary.left(), variables, mathContext),
+                    evaluate(binary.right(), variables, mathContext),
+                    mathContext);
+            case ExpressionNode.Function function -> function(function, variables, mathContext);
+        };
+    }
+
+    private static BigDecimal variable(String name, Map<String, BigDecimal> variables) {
+        var value = variables.get(name);
+        if (value == null)
+            throw new InvalidObjectException("Undefined variable: " + name);
+        return value;
+    }
+
+    private static BigDecimal binary(char operator, BigDecimal left, BigDecimal right, MathContext mathContext) {
+        return switch (operator) {
+            case '+' -> left.add(right, mathContext);
+            case '-' -> left.subtract(right, mathContext);
+            case '*' -> left.multiply(right, mathContext);
+            case '/' -> left.divide(nonZero(right, "Division by zero is not allowed"), mathContext);
+            case '%' -> left.remainder(nonZero(right, "Modulo by zero is not allowed"), mathContext);
+            case '^' -> left.pow(exponent(right), mathContext);
+            default -> throw new IllegalStateException("Unknown operator: " + operator);
+        };
+    }
+
+    private static BigDecimal function(ExpressionNode.Function function, Map<String, BigDecimal> variables,
+                                       MathContext mathContext) {
+        var arguments = function.arguments();
+        var first = evaluate(arguments.getFirst(), variables, mathContext);
+
+        return switch (function.name()) {
+            case "sqrt" -> {
+                if (first.signum() < 0)
+                    throw new InvalidObjectException("Square root of negative number is not allowed");
+                yield first.sqrt(mathContext);
+            }
+            case "abs" -> first.abs(mathContext);
+            case "min", "max" -> {
+                var result = first;
+                for (int i = 1; i < arguments.size(); i++) {
+                    var value = evaluate(arguments.get(i), variables, mathContext);
+                    result = function.name().equals("min") ? result.min(value) : result.max(value);
+                }
+                yield result;
+            }
+            default -> throw new IllegalStateException("Unknown function: " + function.name());
+        };
+    }
+
+    private static BigDecimal nonZero(BigDecimal value, String message) {
+        if (value.signum() == 0)
+            throw new InvalidObjectException(message);
+        return value;
+    }
+
+    private static int exponent(BigDecimal value) {
+        try {
+            int exponent = value.intValueExact();
+            if (Math.abs(exponent) > MAX_EXPONENT)
+                throw new ArithmeticException();
+            return exponent;
+        } catch (ArithmeticException e) {
+            throw new InvalidObjectException("Exponent must be an integer between -" + MAX_EXPONENT + " and "
+                    + MAX_EXPONENT);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mx.raven.calculator.expression;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Immutable AST of a parsed expression. Nodes hold no evaluation state, so a compiled tree can be shared
+ * between threads and evaluated with different variables.
+ */
+public sealed interface ExpressionNode {
+
+    record Number(BigDecimal value) implements ExpressionNode {}
+
+    record Variable(String name) implements ExpressionNode {}
+
+    record Negate(ExpressionNode operand) implements ExpressionNode {}
+
+    record Binary(char operator, ExpressionNode left, ExpressionNode right) implements ExpressionNode {}
+
+    record Function(String name, List<ExpressionNode> arguments) implements ExpressionNode {}
+}
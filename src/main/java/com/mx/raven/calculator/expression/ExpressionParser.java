@@ -0,0 +1,162 @@
+package com.mx.raven.calculator.expression;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.expression.ExpressionTokenizer.Token;
+import com.mx.raven.calculator.expression.ExpressionTokenizer.TokenType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive descent parser. Grammar, from lowest to highest precedence:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/' | '%') unary)*
+ * unary      := ('-' | '+') unary | power
+ * power      := primary ('^' unary)?
+ * primary    := NUMBER | IDENTIFIER | IDENTIFIER '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ * Function names and arities are checked here, so a compiled tree only fails at evaluation for
+ * missing variables or arithmetic errors.
+ */
+public final class ExpressionParser {
+
+    private static final int MAX_DEPTH = 100;
+
+    //Nombre -> {aridad mínima, aridad máxima}
+    private static final Map<String, int[]> FUNCTIONS = Map.of(
+            "sqrt", new int[]{1, 1},
+            "abs", new int[]{1, 1},
+            "min", new int[]{2, Integer.MAX_VALUE},
+            "max", new int[]{2, Integer.MAX_VALUE});
+
+    private final List<Token> tokens;
+    private int position;
+    private int depth;
+
+    private ExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    public static ExpressionNode parse(String expression) {
+        var parser = new ExpressionParser(ExpressionTokenizer.tokenize(expression));
+        var node = parser.expression();
+        parser.expect(TokenType.END, "end of expression");
+        return node;
+    }
+
+    private ExpressionNode expression() {
+        enter();
+        var node = term();
+        while (isOperator('+') || isOperator('-')) {
+            char operator = next().text().charAt(0);
+            node = new ExpressionNode.Binary(operator, node, term());
+        }
+        depth--;
+        return node;
+    }
+
+    private ExpressionNode term() {
+        var node = unary();
+        while (isOperator('*') || isOperator('/') || isOperator('%')) {
+            char operator = next().text().charAt(0);
+            node = new ExpressionNode.Binary(operator, node, unary());
+        }
+        return node;
+    }
+
+    private ExpressionNode unary() {
+        enter();
+        ExpressionNode node;
+        if (isOperator('-')) {
+            next();
+            node = new ExpressionNode.Negate(unary());
+        } else if (isOperator('+')) {
+            next();
+            node = unary();
+        } else {
+            node = power();
+        }
+        depth--;
+        return node;
+    }
+
+    private ExpressionNode power() {
+        var base = primary();
+        if (isOperator('^')) {
+            next();
+            return new ExpressionNode.Binary('^', base, unary());
+        }
+        return base;
+    }
+
+    private ExpressionNode primary() {
+        var token = next();
+        return switch (token.type()) {
+            case NUMBER -> new ExpressionNode.Number(new BigDecimal(token.text()));
+            case IDENTIFIER -> peek().type() == TokenType.LEFT_PAREN ? function(token) : new ExpressionNode.Variable(token.text());
+            case LEFT_PAREN -> {
+                var node = expression();
+                expect(TokenType.RIGHT_PAREN, "')'");
+                yield node;
+            }
+            default -> throw unexpected(token, "a number, variable or '('");
+        };
+    }
+
+    private ExpressionNode function(Token name) {
+        int[] arity = FUNCTIONS.get(name.text().toLowerCase(Locale.ROOT));
+        if (arity == null)
+            throw new InvalidObjectException("Unknown function '" + name.text() + "' at position " + name.position());
+
+        next();
+        List<ExpressionNode> arguments = new ArrayList<>();
+        arguments.add(expression());
+        while (peek().type() == TokenType.COMMA) {
+            next();
+            arguments.add(expression());
+        }
+        expect(TokenType.RIGHT_PAREN, "')'");
+
+        if (arguments.size() < arity[0] || arguments.size() > arity[1])
+            throw new InvalidObjectException("Wrong number of arguments for function '" + name.text() + "'");
+
+        return new ExpressionNode.Function(name.text().toLowerCase(Locale.ROOT), List.copyOf(arguments));
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH)
+            throw new InvalidObjectException("Expression is nested too deeply");
+    }
+
+    private boolean isOperator(char operator) {
+        var token = peek();
+        return token.type() == TokenType.OPERATOR && token.text().charAt(0) == operator;
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        var token = tokens.get(position);
+        if (token.type() != TokenType.END)
+            position++;
+        return token;
+    }
+
+    private void expect(TokenType type, String description) {
+        var token = next();
+        if (token.type() != type)
+            throw unexpected(token, description);
+    }
+
+    private static InvalidObjectException unexpected(Token token, String description) {
+        String found = token.type() == TokenType.END ? "end of expression" : "'" + token.text() + "'";
+        return new InvalidObjectException("Expected " + description + " but found " + found +
+                " at position " + token.position());
+    }
+}
@@ -0,0 +1,107 @@
+package com.mx.raven.calculator.expression;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an expression into numbers, identifiers, operators and parentheses. Whitespace is ignored.
+ */
+public final class ExpressionTokenizer {
+
+    public enum TokenType { NUMBER, IDENTIFIER, OPERATOR, LEFT_PAREN, RIGHT_PAREN, COMMA, END }
+
+    public record Token(TokenType type, String text, int position) {}
+
+    //raven_operations.result es DECIMAL(65,30): ningún literal útil necesita un exponente mayor
+    static final int MAX_LITERAL_EXPONENT = 65;
+
+    private ExpressionTokenizer() {}
+
+    public static List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        int length = expression.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (isDigit(c) || c == '.') {
+                int start = i;
+                i = scanNumber(expression, i);
+                tokens.add(new Token(TokenType.NUMBER, expression.substring(start, i), start));
+            } else if (isIdentifierStart(c)) {
+                int start = i;
+                while (i < length && isIdentifierPart(expression.charAt(i)))
+                    i++;
+                tokens.add(new Token(TokenType.IDENTIFIER, expression.substring(start, i), start));
+            } else {
+                TokenType type = switch (c) {
+                    case '+', '-', '*', '/', '%', '^' -> TokenType.OPERATOR;
+                    case '(' -> TokenType.LEFT_PAREN;
+                    case ')' -> TokenType.RIGHT_PAREN;
+                    case ',' -> TokenType.COMMA;
+                    default -> throw new InvalidObjectException("Unexpected character '" + c + "' at position " + i);
+                };
+                tokens.add(new Token(type, String.valueOf(c), i));
+                i++;
+            }
+        }
+
+        tokens.add(new Token(TokenType.END, "", length));
+        return tokens;
+    }
+
+    private static int scanNumber(String expression, int i) {
+        int start = i;
+        int length = expression.length();
+        boolean digits = false;
+
+        while (i < length && isDigit(expression.charAt(i))) {
+            i++;
+            digits = true;
+        }
+        if (i < length && expression.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(expression.charAt(i))) {
+                i++;
+                digits = true;
+            }
+        }
+        if (!digits)
+            throw new InvalidObjectException("Invalid number at position " + start);
+
+        //Exponente opcional (1e3, 2.5E-4); solo se consume si le sigue al menos un dígito
+        if (i < length && (expression.charAt(i) == 'e' || expression.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < length && (expression.charAt(exponent) == '+' || expression.charAt(exponent) == '-'))
+                exponent++;
+            if (exponent < length && isDigit(expression.charAt(exponent))) {
+                int value = 0;
+                i = exponent;
+                while (i < length && isDigit(expression.charAt(i))) {
+                    value = Math.min(value * 10 + (expression.charAt(i) - '0'), MAX_LITERAL_EXPONENT + 1);
+                    i++;
+                }
+                if (value > MAX_LITERAL_EXPONENT)
+                    throw new InvalidObjectException("Exponent of number at position " + start
+                            + " cannot be greater than " + MAX_LITERAL_EXPONENT);
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+}
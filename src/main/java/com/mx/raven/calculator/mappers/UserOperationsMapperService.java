@@ -22,7 +22,7 @@ public class UserOperationsMapperService {
     }
 
     public UserOperationDTO parametersToUserOperationDTO(String operation, BigDecimal operandA, BigDecimal operandB) {
-        return new UserOperationDTO(null, operation, operandA, operandB, null, null, null);
+        return new UserOperationDTO(null, operation, operandA, operandB, null, null, null, null);
     }
 
 }
@@ -0,0 +1,36 @@
+package com.mx.raven.calculator.model;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last operation returned by a keyset page. It is sent to the client as an opaque
+ * URL-safe token encoding {@code (timestamp, id)}.
+ */
+public record HistoryCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0)
+                throw new InvalidObjectException("Invalid cursor");
+
+            return new HistoryCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidObjectException("Invalid cursor", e);
+        }
+    }
+}
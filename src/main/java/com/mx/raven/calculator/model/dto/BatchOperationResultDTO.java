@@ -0,0 +1,16 @@
+package com.mx.raven.calculator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResultDTO {
+
+    private int index;
+    private UserOperationDTO operation;
+    private String error;
+
+}
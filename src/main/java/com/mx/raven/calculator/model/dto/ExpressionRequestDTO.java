@@ -0,0 +1,18 @@
+package com.mx.raven.calculator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpressionRequestDTO {
+
+    private String expression;
+    private Map<String, BigDecimal> variables;
+
+}
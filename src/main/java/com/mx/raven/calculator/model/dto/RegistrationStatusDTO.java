@@ -0,0 +1,23 @@
+package com.mx.raven.calculator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationStatusDTO {
+
+    public enum Status { PENDING, COMPLETED, FAILED }
+
+    private String id;
+    private Status status;
+    private UserDTO user;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+}
@@ -19,5 +19,6 @@ public class UserOperationDTO {
     private BigDecimal result;
     private LocalDateTime timestamp;
     private Long userId;
+    private String expression;
 
 }
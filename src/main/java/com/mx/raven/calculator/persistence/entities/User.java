@@ -14,8 +14,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class User {
 
+    //Secuencia con optimizador pooled: con IDENTITY Hibernate no puede agrupar los inserts en lotes JDBC.
+    //En MySQL, que no tiene secuencias, Hibernate la emula con una tabla.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raven_users_seq")
+    @SequenceGenerator(name = "raven_users_seq", sequenceName = "raven_users_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 20, unique = true)
@@ -9,17 +9,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "raven_operations")
+@Table(name = "raven_operations", indexes = {
+        @Index(name = "idx_operations_user_timestamp", columnList = "user_id, timestamp, id"),
+        @Index(name = "idx_operations_user_operation_timestamp", columnList = "user_id, operation, timestamp, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class UserOperation {
 
+    //Secuencia con optimizador pooled: con IDENTITY Hibernate no puede agrupar los inserts en lotes JDBC.
+    //En MySQL, que no tiene secuencias, Hibernate la emula con una tabla.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raven_operations_seq")
+    @SequenceGenerator(name = "raven_operations_seq", sequenceName = "raven_operations_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    //LAZY: el historial solo necesita user_id, que el proxy devuelve sin consultar raven_users
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -32,10 +39,15 @@ public class UserOperation {
     @Column(scale = 2)
     private BigDecimal operandB;
 
-    @Column(scale = 2)
+    //La escala del resultado la elige quien llama (calculator.calculation.max-scale); 30 es el máximo de MySQL
+    @Column(precision = 65, scale = 30)
     private BigDecimal result;
 
     @Column(length = 100)
     private LocalDateTime timestamp;
 
+    //Solo para operation = "expression": texto de la fórmula evaluada
+    @Column(length = 500)
+    private String expression;
+
 }
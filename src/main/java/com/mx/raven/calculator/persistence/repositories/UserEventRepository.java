@@ -10,4 +10,6 @@ public interface UserEventRepository {
 
     Optional<UserDTO> findByUsername(String username);
 
+    void evictUser(String username);
+
 }
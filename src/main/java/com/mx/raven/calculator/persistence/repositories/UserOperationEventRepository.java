@@ -6,13 +6,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserOperationEventRepository {
 
     UserOperationDTO storeSaveUserOperation(UserOperationDTO dto);
+    List<UserOperationDTO> storeSaveAllUserOperations(List<UserOperationDTO> dtos);
     Page<UserOperationDTO> storePageUserOperations(Specification<UserOperation> spec, Pageable pageable);
-    Optional<UserOperationDTO> storeGetByIdUserOperation(Long id);
-    void storeDeleteUserOperation(Long id);
+    List<UserOperationDTO> storeSeekUserOperations(Specification<UserOperation> spec, int limit);
+    Optional<UserOperationDTO> storeGetByIdUserOperation(Long id, Long userId);
+    boolean storeDeleteUserOperation(Long id, Long userId);
+    long storeStreamUserOperations(Long userId, Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                   Optional<LocalDateTime> endDate, Consumer<UserOperationDTO> consumer);
 
 }
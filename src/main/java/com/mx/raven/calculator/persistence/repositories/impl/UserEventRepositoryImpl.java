@@ -1,30 +1,82 @@
 package com.mx.raven.calculator.persistence.repositories.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mx.raven.calculator.mappers.UsersMapperService;
 import com.mx.raven.calculator.model.dto.UserDTO;
 import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import com.mx.raven.calculator.persistence.stores.UserStore;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
-@RequiredArgsConstructor
 public class UserEventRepositoryImpl implements UserEventRepository {
 
     private final UserStore userStore;
     private final UsersMapperService mapper;
 
+    //Caché de usuarios por username; solo se guardan usuarios existentes para que un registro sea visible al momento
+    private final Cache<String, UserDTO> usersByUsername;
+    //Se incrementa en cada invalidación; una lectura que se solapa con alguna no se cachea
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserEventRepositoryImpl(UserStore userStore, UsersMapperService mapper,
+                                   @Value("${calculator.users.cache.max-size}") long maxSize,
+                                   @Value("${calculator.users.cache.ttl-ms}") long ttlMillis) {
+        this.userStore = userStore;
+        this.mapper = mapper;
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
     @Override
     public UserDTO storeSaveUser(UserDTO dto) {
         var entity = userStore.save(mapper.userDTOToUser(dto));
+        String username = entity.getUsername();
+        evictUser(username);
+        //Dentro de una transacción externa el cambio no es visible hasta el commit: se invalida otra vez entonces
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(username);
+                }
+            });
+        }
         return mapper.userToUserDTO(entity);
     }
 
     @Override
     public Optional<UserDTO> findByUsername(String username) {
-        var entities = userStore.findByUsername(username);
-        return entities.map(mapper::userToUserDTO);
+        var cached = usersByUsername.getIfPresent(username);
+        if (cached != null)
+            return Optional.of(copy(cached));
+
+        long invalidationsBeforeRead = invalidations.get();
+        var user = userStore.findByUsername(username).map(mapper::userToUserDTO);
+        //La comprobación va dentro de compute: un evictUser posterior espera a que termine y borra lo guardado.
+        //La consulta queda fuera para no bloquear el mapa (ni fijar hilos virtuales) durante la base de datos
+        user.ifPresent(dto -> usersByUsername.asMap().compute(username, (key, current) ->
+                invalidations.get() == invalidationsBeforeRead ? copy(dto) : current));
+        return user;
+    }
+
+    @Override
+    public void evictUser(String username) {
+        invalidations.incrementAndGet();
+        usersByUsername.invalidate(username);
+    }
+
+    //Los DTO son mutables, así que la caché nunca comparte su instancia con quien llama
+    private static UserDTO copy(UserDTO dto) {
+        return new UserDTO(dto.getId(), dto.getUsername(), dto.getPassword(), dto.getEmail(), dto.getCreatedAt());
     }
 }
@@ -6,20 +6,41 @@ import com.mx.raven.calculator.persistence.entities.UserOperation;
 import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
 import com.mx.raven.calculator.persistence.stores.UserOperationStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
 public class UserOperationEventRepositoryImpl implements UserOperationEventRepository {
 
+    //Orden del keyset: junto con el filtro por usuario recorre el índice (user_id, timestamp) como un range scan
+    private static final Sort SEEK_SORT = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    private static final String EXPORT_SELECT = "select id, user_id, operation, operand_a, operand_b, result, " +
+            "timestamp, expression from raven_operations where user_id = ?";
+    private static final String EXPORT_ORDER = " order by timestamp desc, id desc";
+
     private final UserOperationStore userOperationStore;
     private final UserOperationsMapperService mapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${calculator.history.export.fetch-size}")
+    private int exportFetchSize;
 
     @Override
     public UserOperationDTO storeSaveUserOperation(UserOperationDTO dto) {
@@ -27,6 +48,17 @@ public class UserOperationEventRepositoryImpl implements UserOperationEventRepos
         return mapper.userOperationToUserOperationDTO(entity);
     }
 
+    @Override
+    @Transactional
+    public List<UserOperationDTO> storeSaveAllUserOperations(List<UserOperationDTO> dtos) {
+        var entities = userOperationStore.saveAll(dtos.stream()
+                .map(mapper::userOperationDTOToUserOperation)
+                .toList());
+        return entities.stream()
+                .map(mapper::userOperationToUserOperationDTO)
+                .toList();
+    }
+
     @Override
     public Page<UserOperationDTO> storePageUserOperations(Specification<UserOperation> spec, Pageable pageable) {
         var operations = userOperationStore.findAll(spec, pageable);
@@ -34,14 +66,71 @@ public class UserOperationEventRepositoryImpl implements UserOperationEventRepos
     }
 
     @Override
-    public Optional<UserOperationDTO> storeGetByIdUserOperation(Long id) {
-        var operation = userOperationStore.findById(id);
+    public List<UserOperationDTO> storeSeekUserOperations(Specification<UserOperation> spec, int limit) {
+        //findBy con limit no ejecuta el COUNT(*) que sí ejecuta findAll(spec, pageable)
+        var operations = userOperationStore.findBy(spec, query -> query.sortBy(SEEK_SORT).limit(limit).all());
+        return operations.stream()
+                .map(mapper::userOperationToUserOperationDTO)
+                .toList();
+    }
+
+    @Override
+    public Optional<UserOperationDTO> storeGetByIdUserOperation(Long id, Long userId) {
+        var operation = userOperationStore.findByIdAndUserId(id, userId);
         return operation.map(mapper::userOperationToUserOperationDTO);
     }
 
     @Override
     @Transactional
-    public void storeDeleteUserOperation(Long id) {
-        userOperationStore.deleteById(id);
+    public boolean storeDeleteUserOperation(Long id, Long userId) {
+        return userOperationStore.deleteByIdAndUserId(id, userId) > 0;
+    }
+
+    @Override
+    public long storeStreamUserOperations(Long userId, Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                          Optional<LocalDateTime> endDate, Consumer<UserOperationDTO> consumer) {
+        var sql = new StringBuilder(EXPORT_SELECT);
+        List<Object> params = new ArrayList<>(4);
+        params.add(userId);
+        operationType.ifPresent(type -> {
+            sql.append(" and operation = ?");
+            params.add(type);
+        });
+        startDate.ifPresent(date -> {
+            sql.append(" and timestamp >= ?");
+            params.add(date);
+        });
+        endDate.ifPresent(date -> {
+            sql.append(" and timestamp <= ?");
+            params.add(date);
+        });
+        sql.append(EXPORT_ORDER);
+
+        //JDBC directo con un cursor forward-only: cada fila se entrega y se descarta, sin entidades ni contexto de persistencia
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            for (int i = 0; i < params.size(); i++)
+                statement.setObject(i + 1, params.get(i));
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            consumer.accept(toUserOperationDTO(resultSet));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static UserOperationDTO toUserOperationDTO(ResultSet resultSet) throws SQLException {
+        return new UserOperationDTO(
+                resultSet.getLong("id"),
+                resultSet.getString("operation"),
+                resultSet.getBigDecimal("operand_a"),
+                resultSet.getBigDecimal("operand_b"),
+                resultSet.getBigDecimal("result"),
+                resultSet.getObject("timestamp", LocalDateTime.class),
+                resultSet.getObject("user_id", Long.class),
+                resultSet.getString("expression"));
     }
 }
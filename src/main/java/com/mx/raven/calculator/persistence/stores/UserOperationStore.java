@@ -3,6 +3,16 @@ package com.mx.raven.calculator.persistence.stores;
 import com.mx.raven.calculator.persistence.entities.UserOperation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface UserOperationStore extends JpaRepository<UserOperation, Long>, JpaSpecificationExecutor<UserOperation> {
+
+    Optional<UserOperation> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("delete from UserOperation o where o.id = :id and o.user.id = :userId")
+    int deleteByIdAndUserId(Long id, Long userId);
 }
@@ -0,0 +1,250 @@
+package com.mx.raven.calculator.persistence.writebehind;
+
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for the operation history. When enabled, calculated operations are queued in memory and
+ * a background flusher stores them in batches, so the request thread does not wait for the insert.
+ * When the queue is full the caller waits up to the offer timeout and then stores the operation itself.
+ */
+@Component
+@Slf4j
+public class UserOperationWriteBehindQueue implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "calculator.history.write_behind";
+
+    private final UserOperationEventRepository repository;
+    private final boolean enabled;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final BlockingQueue<PendingOperation> queue;
+
+    private final Timer flushLag;
+    private final Timer flushDuration;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+
+    //enqueue comprueba running y encola bajo la lectura; stop cambia running bajo la escritura, así que cuando
+    //stop vacía la cola ya no queda ningún offer en curso que pueda llegar después
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public UserOperationWriteBehindQueue(UserOperationEventRepository repository,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${calculator.history.write-behind.enabled}") boolean enabled,
+                                         @Value("${calculator.history.write-behind.queue-capacity}") int queueCapacity,
+                                         @Value("${calculator.history.write-behind.flush-size}") int flushSize,
+                                         @Value("${calculator.history.write-behind.flush-interval-ms}") long flushIntervalMs,
+                                         @Value("${calculator.history.write-behind.offer-timeout-ms}") long offerTimeoutMs,
+                                         @Value("${calculator.history.write-behind.shutdown-timeout-ms}") long shutdownTimeoutMs) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size)
+                .description("Operations waiting to be flushed")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder(METRIC_PREFIX + ".flush.lag")
+                .description("Time between queueing the oldest operation of a batch and storing it")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder(METRIC_PREFIX + ".flush.duration")
+                .description("Time spent storing a batch")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder(METRIC_PREFIX + ".flushed")
+                .description("Operations stored by the flusher")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Operations that could not be stored by the flusher")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder(METRIC_PREFIX + ".overflow")
+                .description("Operations stored synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the operation to be stored by the flusher. The returned DTO has no id yet when it was queued;
+     * if the queue stays full for longer than the offer timeout, it is stored synchronously and returned with its id.
+     */
+    public UserOperationDTO enqueue(UserOperationDTO dto) {
+        if (offer(dto))
+            return dto;
+
+        return repository.storeSaveUserOperation(dto);
+    }
+
+    private boolean offer(UserOperationDTO dto) {
+        acceptLock.readLock().lock();
+        try {
+            if (!running)
+                return false;
+            if (queue.offer(new PendingOperation(dto, System.nanoTime()), offerTimeoutMs, TimeUnit.MILLISECONDS))
+                return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+
+        overflowCounter.increment();
+        log.warn("Write-behind queue is full, storing operation synchronously");
+        return false;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "history-write-behind");
+        flusher.start();
+        log.info("History write-behind enabled (flush size {}, interval {} ms)", flushSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (flusher.isAlive()) {
+            log.error("Write-behind flusher did not finish in {} ms, {} operations not stored",
+                    shutdownTimeoutMs, queue.size());
+            return;
+        }
+
+        //Operaciones encoladas antes de cambiar running que el flusher ya no llegó a recoger
+        List<PendingOperation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        log.info("Write-behind queue drained");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<PendingOperation> batch = new ArrayList<>(flushSize);
+
+        //Al detenerse se sigue vaciando la cola hasta que no quede nada pendiente
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingOperation> batch) throws InterruptedException {
+        PendingOperation first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                return;
+            }
+
+            PendingOperation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingOperation> batch) {
+        List<UserOperationDTO> dtos = batch.stream().map(PendingOperation::dto).toList();
+        long start = System.nanoTime();
+
+        try {
+            repository.storeSaveAllUserOperations(dtos);
+            flushedCounter.increment(dtos.size());
+        } catch (Exception e) {
+            log.error("Error flushing {} operations, retrying one by one: {}", dtos.size(), e.getMessage(), e);
+            flushOneByOne(dtos);
+        }
+
+        long end = System.nanoTime();
+        flushDuration.record(end - start, TimeUnit.NANOSECONDS);
+        flushLag.record(Duration.ofNanos(end - batch.get(0).enqueuedAt()));
+    }
+
+    private void flushOneByOne(List<UserOperationDTO> dtos) {
+        for (var dto : dtos) {
+            try {
+                repository.storeSaveUserOperation(dto);
+                flushedCounter.increment();
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.error("Operation could not be stored: {}", dto, e);
+            }
+        }
+    }
+
+    private record PendingOperation(UserOperationDTO dto, long enqueuedAt) {
+    }
+}
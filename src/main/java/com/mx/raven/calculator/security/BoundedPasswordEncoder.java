@@ -0,0 +1,110 @@
+package com.mx.raven.calculator.security;
+
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs hashing and verification of the delegate encoder on a fixed pool sized to the CPUs, with a bounded queue.
+ * A login storm can then use at most those threads of CPU; once the queue is full further requests fail fast with
+ * 503 instead of competing with calculation traffic. The pool is published as {@code executor.*} metrics named
+ * {@code password.hashing}, rejections as {@code calculator.security.hashing.rejected} and the latency seen by the
+ * caller (queue wait plus hashing) as {@code calculator.security.hashing.duration}, tagged by operation.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final Timer encodeDuration;
+    private final Timer matchesDuration;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        var threadNumber = new AtomicInteger();
+        var pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    var thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.rejected = Counter.builder("calculator.security.hashing.rejected")
+                .description("Password hashing or verification requests rejected because the queue was full")
+                .register(meterRegistry);
+        this.encodeDuration = durationTimer(meterRegistry, "encode");
+        this.matchesDuration = durationTimer(meterRegistry, "matches");
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("calculator.security.hashing.duration")
+                .description("Time from submitting a password hashing or verification request to its result")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * BCrypt with the given cost factor; {@code threads = 0} uses one thread per CPU.
+     */
+    public static BoundedPasswordEncoder bcrypt(int strength, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeDuration);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesDuration);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task, Timer duration) {
+        long start = System.nanoTime();
+        try {
+            T result = executor.submit(task).get();
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceUnavailableException("Too many authentication requests, please try again later", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+}
@@ -1,39 +1,85 @@
 package com.mx.raven.calculator.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 @Slf4j
 public class JwtTokenUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+
+    //Claims verificados por JwtAuthenticationFilter para el token de la petición en curso
+    private static final String REQUEST_CLAIMS_ATTRIBUTE = JwtTokenUtil.class.getName() + ".claims";
+
+    private final VerifiedClaimsCache claimsCache;
+
+    //Lectura de claims: servida por la caché, o verificación de la firma válida o rechazada
+    private final Timer cachedClaims;
+    private final Timer verifiedClaims;
+    private final Timer rejectedClaims;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    //La clave y el parser son inmutables; se construyen una vez en el primer uso
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
+
+    public JwtTokenUtil(VerifiedClaimsCache claimsCache, MeterRegistry meterRegistry) {
+        this.claimsCache = claimsCache;
+        this.cachedClaims = claimsTimer(meterRegistry, "hit", "valid");
+        this.verifiedClaims = claimsTimer(meterRegistry, "miss", "valid");
+        this.rejectedClaims = claimsTimer(meterRegistry, "miss", "invalid");
+    }
+
+    private static Timer claimsTimer(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Timer.builder("calculator.security.jwt.verification")
+                .description("Time to obtain the verified claims of a token")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userDetails.getUsername());
     }
 
+    //El id del usuario viaja en el token para no consultarlo en la base de datos en cada petición
+    public String generateToken(UserDetails userDetails, Long userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        return createToken(claims, userDetails.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
@@ -48,13 +94,47 @@ public class JwtTokenUtil {
     }
 
     private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(extractAllClaims(token), userDetails);
+    }
+
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Verified claims of the token, from the current request, the cache or the parser, in that order.
+     */
+    public Claims getVerifiedClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * Keeps the verified claims of the request's token for the rest of the request, so controllers and services
+     * that look the same token up again neither hash it for the cache nor verify it.
+     */
+    void bindToRequest(HttpServletRequest request, String token, Claims claims) {
+        request.setAttribute(REQUEST_CLAIMS_ATTRIBUTE, new RequestClaims(token, claims));
     }
 
     public String extractUsername(String token) {
@@ -71,15 +151,34 @@ public class JwtTokenUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        var requestClaims = requestClaims(token);
+        if (requestClaims != null)
+            return requestClaims;
+
+        long start = System.nanoTime();
+        boolean[] verified = {false};
+        try {
+            Claims claims = claimsCache.get(token, jwt -> {
+                verified[0] = true;
+                return getParser().parseClaimsJws(jwt).getBody();
+            });
+            (verified[0] ? verifiedClaims : cachedClaims).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            rejectedClaims.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    //Fuera de una petición HTTP (hilos asíncronos, tests) no hay atributos y se usa la caché
+    private static Claims requestClaims(String token) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null)
+            return null;
+        if (attributes.getAttribute(REQUEST_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestClaims bound
+                && bound.token().equals(token))
+            return bound.claims();
+        return null;
     }
 
     public String validateAuthorizationHeader(String authorizationHeader) {
@@ -93,11 +192,19 @@ public class JwtTokenUtil {
 
         getUsernameFromToken(token);
 
-        log.info("Authorization header validated successfully");
+        log.debug("Authorization header validated successfully");
         log.debug("token from header: {}", token);
         return token;
     }
 
+    /**
+     * User id of the {@value #USER_ID_CLAIM} claim. Tokens issued before the claim existed return empty.
+     */
+    public Optional<Long> getUserIdFromToken(String token) {
+        Object userId = extractClaim(token, claims -> claims.get(USER_ID_CLAIM));
+        return userId instanceof Number number ? Optional.of(number.longValue()) : Optional.empty();
+    }
+
     public String getUsernameFromToken(String token) {
         String username = extractUsername(token);
         if (StringUtils.isBlank(username)) {
@@ -107,4 +214,7 @@ public class JwtTokenUtil {
 
         return username;
     }
-}
\ No newline at end of file
+
+    private record RequestClaims(String token, Claims claims) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.mx.raven.calculator.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,7 +10,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,7 +32,8 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**", "/h2-console/**", 
                     "/v3/api-docs/**", 
                     "/swagger-ui/**", 
-                    "/swagger-ui.html").permitAll()
+                    "/swagger-ui.html",
+                    "/actuator/health").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -41,9 +43,12 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${calculator.security.bcrypt.strength}") int strength,
+                                           @Value("${calculator.security.hashing.threads}") int threads,
+                                           @Value("${calculator.security.hashing.queue-capacity}") int queueCapacity) {
+        return BoundedPasswordEncoder.bcrypt(strength, threads, queueCapacity, meterRegistry);
     }
 
     @Bean
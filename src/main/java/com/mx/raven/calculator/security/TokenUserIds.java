@@ -0,0 +1,30 @@
+package com.mx.raven.calculator.security;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.function.Function;
+
+/**
+ * User of a token, shared by the servlet and reactive services: the {@code userId} claim when the token has it,
+ * otherwise a lookup of the subject by username. Only the lookup differs between the stacks (a blocking repository
+ * or a {@code Mono}), so the caller passes it in.
+ */
+public final class TokenUserIds {
+
+    private TokenUserIds() {}
+
+    /**
+     * @param fromClaim      wraps the user id of the claim in the caller's result type
+     * @param findByUsername looks the user up by username, for tokens issued before the claim existed
+     */
+    public static <T> T resolve(JwtTokenUtil jwtTokenUtil, String token, Function<Long, T> fromClaim,
+                                Function<String, T> findByUsername) {
+        return jwtTokenUtil.getUserIdFromToken(token)
+                .map(fromClaim)
+                .orElseGet(() -> findByUsername.apply(jwtTokenUtil.getUsernameFromToken(token)));
+    }
+
+    public static UsernameNotFoundException userNotFound(String username) {
+        return new UsernameNotFoundException("User not found with username: " + username);
+    }
+}
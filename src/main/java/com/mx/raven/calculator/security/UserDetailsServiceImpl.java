@@ -1,7 +1,7 @@
 package com.mx.raven.calculator.security;
 
-import com.mx.raven.calculator.persistence.entities.User;
-import com.mx.raven.calculator.persistence.stores.UserStore;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,15 +12,16 @@ import java.util.ArrayList;
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-    private final UserStore userStore;
+    private final UserEventRepository userEventRepository;
 
-    public UserDetailsServiceImpl(UserStore userStore) {
-        this.userStore = userStore;
+    public UserDetailsServiceImpl(UserEventRepository userEventRepository) {
+        this.userEventRepository = userEventRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userStore.findByUsername(username)
+        //Se consulta a través del repositorio con caché: el filtro JWT lo llama en cada petición
+        UserDTO user = userEventRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         return new org.springframework.security.core.userdetails.User(
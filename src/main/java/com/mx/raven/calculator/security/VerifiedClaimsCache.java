@@ -0,0 +1,82 @@
+package com.mx.raven.calculator.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the claims of tokens whose signature was already verified, keyed by the SHA-256 of the token.
+ * An entry lives at most {@code jwt.claims-cache.max-ttl} and never beyond the expiration of its token,
+ * so expired tokens always go through the parser again and fail there.
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    private final Cache<String, Claims> cache;
+    private final long maxTtlNanos;
+
+    public VerifiedClaimsCache(@Value("${jwt.claims-cache.max-size}") long maxSize,
+                               @Value("${jwt.claims-cache.max-ttl}") long maxTtlMillis) {
+        this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(maxTtlMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return ttlNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return ttlNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the cached claims of the token or verifies it with {@code verifier}. Exceptions thrown by the
+     * verifier are propagated and nothing is cached.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        return cache.get(hash(token), key -> verifier.apply(token));
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private long ttlNanos(Claims claims) {
+        if (claims.getExpiration() == null)
+            return maxTtlNanos;
+
+        long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+                claims.getExpiration().getTime() - System.currentTimeMillis());
+        return Math.max(0, Math.min(maxTtlNanos, untilExpiration));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
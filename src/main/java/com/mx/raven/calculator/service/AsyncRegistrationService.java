@@ -0,0 +1,20 @@
+package com.mx.raven.calculator.service;
+
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
+
+/**
+ * Registers users off the request thread: the remote email check, password hashing and insert run on a
+ * dedicated executor and the caller polls the registration status.
+ */
+public interface AsyncRegistrationService {
+
+    /**
+     * Checks the request fields and queues the registration.
+     *
+     * @return the registration in {@link RegistrationStatusDTO.Status#PENDING} state
+     */
+    RegistrationStatusDTO submit(UserDTO userDTO);
+
+    RegistrationStatusDTO getStatus(String registrationId);
+}
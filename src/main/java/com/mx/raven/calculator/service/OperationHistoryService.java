@@ -1,16 +1,30 @@
 package com.mx.raven.calculator.service;
 
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface OperationHistoryService {
 
     Page<UserOperationDTO> getOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
                                          Optional<LocalDateTime> endDate, Pageable pageable, String token);
+    CursorPageDTO<UserOperationDTO> getOperationsByCursor(Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                                          Optional<LocalDateTime> endDate, Optional<String> cursor,
+                                                          int size, String token);
     UserOperationDTO getOperationById(Long id, String token);
     void deleteOperationById(Long id, String token);
+
+    /**
+     * Sends every operation of the user that matches the filters to {@code consumer}, newest first, as they are read
+     * from the database. Nothing is accumulated in memory.
+     *
+     * @return number of exported operations
+     */
+    long exportOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
+                          Optional<LocalDateTime> endDate, String token, Consumer<UserOperationDTO> consumer);
 }
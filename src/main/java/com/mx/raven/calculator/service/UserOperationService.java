@@ -1,10 +1,33 @@
 package com.mx.raven.calculator.service;
 
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface UserOperationService {
 
-    UserOperationDTO calculate(String operation, BigDecimal operandA, BigDecimal operandB, String token);
+    UserOperationDTO calculate(String operation, BigDecimal operandA, BigDecimal operandB, Integer scale,
+                               RoundingMode roundingMode, String token);
+
+    List<BatchOperationResultDTO> calculateBatch(List<UserOperationDTO> operations, Integer scale,
+                                                 RoundingMode roundingMode, String token);
+
+    UserOperationDTO calculateExpression(String expression, Map<String, BigDecimal> variables, String token);
+
+    /**
+     * Calculates an unbounded sequence of operations in chunks of {@code calculator.stream.chunk-size}. Each chunk is
+     * saved with a single batch insert and handed to {@code chunkConsumer} before the next one is read, so memory
+     * does not grow with the input. An {@code InvalidObjectException} thrown by the iterator marks that element as
+     * invalid and processing continues.
+     *
+     * @return number of operations read
+     */
+    int calculateStream(Iterator<UserOperationDTO> operations, Integer scale, RoundingMode roundingMode, String token,
+                        Consumer<List<BatchOperationResultDTO>> chunkConsumer);
 }
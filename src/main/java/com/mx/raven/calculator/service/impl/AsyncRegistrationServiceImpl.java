@@ -0,0 +1,151 @@
+package com.mx.raven.calculator.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO.Status;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.service.AsyncRegistrationService;
+import com.mx.raven.calculator.service.UserService;
+import com.mx.raven.calculator.validation.UserSaveValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link UserService#registerUser} on a bounded executor. When the executor queue is full the registration
+ * is rejected with 503 instead of waiting, so bursts are absorbed by the queue and never pile up on Tomcat's
+ * worker threads. Statuses are kept in memory for a limited time after the registration is submitted.
+ */
+@Service
+@Slf4j
+public class AsyncRegistrationServiceImpl implements AsyncRegistrationService {
+
+    private final UserService userService;
+    private final UserSaveValidator userSaveValidator;
+    private final ExecutorService executor;
+    private final Cache<String, Registration> registrations;
+    private final long shutdownTimeoutMs;
+
+    public AsyncRegistrationServiceImpl(UserService userService, UserSaveValidator userSaveValidator,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${calculator.registration.async.threads}") int threads,
+                                        @Value("${calculator.registration.async.queue-capacity}") int queueCapacity,
+                                        @Value("${calculator.registration.async.status.max-size}") long statusMaxSize,
+                                        @Value("${calculator.registration.async.status.ttl-ms}") long statusTtlMs,
+                                        @Value("${calculator.registration.async.shutdown-timeout-ms}") long shutdownTimeoutMs,
+                                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userService = userService;
+        this.userSaveValidator = userSaveValidator;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        //Con hilos virtuales el pool sigue limitando cuántos registros hay en curso; solo cambia el tipo de hilo
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("registration-", 1).factory()
+                : Thread.ofPlatform().name("registration-", 1).factory();
+        var pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "registration");
+
+        this.registrations = Caffeine.newBuilder()
+                .maximumSize(statusMaxSize)
+                .expireAfterWrite(Duration.ofMillis(statusTtlMs))
+                .build();
+    }
+
+    @Override
+    public RegistrationStatusDTO submit(UserDTO userDTO) {
+        //Los errores de formato se responden con 400 en la propia petición; solo lo costoso va al executor
+        userSaveValidator.validateFields(userDTO);
+
+        var registration = Registration.pending(UUID.randomUUID().toString());
+        registrations.put(registration.id(), registration);
+        try {
+            executor.execute(() -> register(registration, userDTO));
+        } catch (RejectedExecutionException e) {
+            registrations.invalidate(registration.id());
+            log.warn("Registration queue is full, rejecting registration");
+            throw new ServiceUnavailableException("Too many registrations in progress, please try again later", e);
+        }
+
+        log.info("Registration {} queued", registration.id());
+        return registration.toDTO();
+    }
+
+    @Override
+    public RegistrationStatusDTO getStatus(String registrationId) {
+        var registration = registrations.getIfPresent(registrationId);
+        if (registration == null)
+            throw new ObjectNotFoundException("Registration not found or expired: " + registrationId);
+        return registration.toDTO();
+    }
+
+    private void register(Registration registration, UserDTO userDTO) {
+        Registration result;
+        try {
+            result = registration.completed(userService.registerUser(userDTO));
+            log.info("Registration {} completed", registration.id());
+        } catch (InvalidObjectException e) {
+            result = registration.failed(e.getMessage());
+            log.info("Registration {} rejected: {}", registration.id(), e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            result = registration.failed("Username or email already registered. Try again");
+            log.info("Registration {} rejected: duplicated username or email", registration.id());
+        } catch (Exception e) {
+            result = registration.failed("Internal server error, please try again later.");
+            log.error("Registration {} failed", registration.id(), e);
+        }
+        registrations.put(registration.id(), result);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS))
+                log.error("Registration executor did not finish in {} ms", shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //Inmutable: el DTO que se devuelve se crea en cada consulta
+    private record Registration(String id, Status status, UserDTO user, String error,
+                                LocalDateTime submittedAt, LocalDateTime completedAt) {
+
+        static Registration pending(String id) {
+            return new Registration(id, Status.PENDING, null, null, LocalDateTime.now(), null);
+        }
+
+        Registration completed(UserDTO user) {
+            return new Registration(id, Status.COMPLETED, user, null, submittedAt, LocalDateTime.now());
+        }
+
+        Registration failed(String error) {
+            return new Registration(id, Status.FAILED, null, error, submittedAt, LocalDateTime.now());
+        }
+
+        RegistrationStatusDTO toDTO() {
+            UserDTO userCopy = user == null ? null :
+                    new UserDTO(user.getId(), user.getUsername(), null, user.getEmail(), user.getCreatedAt());
+            return new RegistrationStatusDTO(id, status, userCopy, error, submittedAt, completedAt);
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.mx.raven.calculator.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.mx.raven.calculator.model.EmailValidationResponse;
 import com.mx.raven.calculator.service.EmailValidationService;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailValidationServiceImpl implements EmailValidationService {
 
+    //Se pasa como plantilla: el tag uri de http.client.requests es la plantilla, sin la clave ni el email
+    private static final String QUERY_TEMPLATE = "?access_key={key}&email={email}&smtp=1&format=1";
+
+    //Solo decide si una dirección puede resolverse con el veredicto de su dominio; ante la duda se llama a la API
+    private static final Pattern SIMPLE_FORMAT = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,}$");
+
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
     @Value("${mailboxlayer.key}")
     private String apiKey;
@@ -22,46 +42,173 @@ public class EmailValidationServiceImpl implements EmailValidationService {
     @Value("${mailboxlayer.url-api}")
     private String apiUrl;
 
+    //Respuestas por dirección normalizada; las de fallback caducan antes para reintentar pronto
+    private final Cache<String, CachedResponse> responsesByEmail;
+
+    //Veredicto de dominio (MX, desechable) compartido por todas las direcciones del dominio
+    private final Cache<String, DomainVerdict> verdictsByDomain;
+
+    //Llamadas a mailboxlayer por resultado; rejected = no llegó a salir por el circuit breaker o el bulkhead
+    private final Timer successfulCalls;
+    private final Timer failedCalls;
+    private final Timer rejectedCalls;
+
+    public EmailValidationServiceImpl(RestTemplate restTemplate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${mailboxlayer.cache.max-size}") long maxSize,
+                                      @Value("${mailboxlayer.cache.ttl-ms}") long ttlMillis,
+                                      @Value("${mailboxlayer.cache.fallback-ttl-ms}") long fallbackTtlMillis,
+                                      @Value("${mailboxlayer.domain-cache.max-size}") long domainMaxSize,
+                                      @Value("${mailboxlayer.domain-cache.ttl-ms}") long domainTtlMillis) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.responsesByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(value.fallback() ? fallbackTtlMillis : ttlMillis);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.verdictsByDomain = Caffeine.newBuilder()
+                .maximumSize(domainMaxSize)
+                .expireAfterWrite(Duration.ofMillis(domainTtlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responsesByEmail, "email.validation.responses");
+        CaffeineCacheMetrics.monitor(meterRegistry, verdictsByDomain, "email.validation.domains");
+
+        this.successfulCalls = apiCallTimer(meterRegistry, "success");
+        this.failedCalls = apiCallTimer(meterRegistry, "error");
+        this.rejectedCalls = apiCallTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer apiCallTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("email.validation.mailboxlayer.calls")
+                .description("Latency of mailboxlayer calls, including the ones answered with the fallback")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     @Override
     public EmailValidationResponse validateEmail(String email) {
         log.info("Validating email: {}", email);
-        
-        String url = UriComponentsBuilder.fromHttpUrl(apiUrl)
-                .queryParam("access_key", apiKey)
-                .queryParam("email", email)
-                .queryParam("smtp", 1)
-                .queryParam("format", 1)
-                .build()
-                .toUriString();
-        
-        log.debug("Calling email validation API with URL: {}", url);
-        
-        try {
-            EmailValidationResponse response = restTemplate.getForObject(url, EmailValidationResponse.class);
-            log.debug("Email validation response: {}", response);
-            return response;
-        } catch (Exception e) {
-            log.error("Error validating email: {}", e.getMessage(), e);
 
-            EmailValidationResponse fallbackResponse = new EmailValidationResponse();
-            fallbackResponse.setEmail(email);
-            fallbackResponse.setFormatValid(false);
-            fallbackResponse.setMxFound(false);
-            fallbackResponse.setDisposable(true);
-            return fallbackResponse;
+        String normalized = normalize(email);
+        //get(key, loader) bloquearía la entrada del mapa durante los segundos que tarda la comprobación SMTP
+        var cached = responsesByEmail.getIfPresent(normalized);
+        if (cached == null) {
+            cached = callApi(normalized);
+            responsesByEmail.put(normalized, cached);
         }
+        return copy(cached.response());
     }
 
     @Override
     public boolean isEmailValid(String email) {
-        EmailValidationResponse response = validateEmail(email);
-        
-        boolean isValid = response.isFormatValid() && 
-                          response.isMxFound() && 
-                          !response.isDisposable();
-        
+        String normalized = normalize(email);
+
+        boolean isValid;
+        var verdict = domainVerdict(normalized);
+        if (verdict != null) {
+            isValid = verdict.mxFound() && !verdict.disposable();
+            log.debug("Email {} resolved from cached domain verdict", email);
+        } else {
+            EmailValidationResponse response = validateEmail(email);
+            isValid = response.isFormatValid() &&
+                      response.isMxFound() &&
+                      !response.isDisposable();
+        }
+
         log.info("Email {} validation result: {}", email, isValid);
-        
+
         return isValid;
     }
-}
\ No newline at end of file
+
+    //Un dominio sin MX o desechable invalida cualquier dirección; uno válido solo si el formato es claramente correcto
+    private DomainVerdict domainVerdict(String normalized) {
+        int at = normalized.lastIndexOf('@');
+        if (at < 0)
+            return null;
+
+        var verdict = verdictsByDomain.getIfPresent(normalized.substring(at + 1));
+        if (verdict == null)
+            return null;
+        if (!verdict.mxFound() || verdict.disposable())
+            return verdict;
+        return SIMPLE_FORMAT.matcher(normalized).matches() ? verdict : null;
+    }
+
+    private CachedResponse callApi(String email) {
+        log.debug("Calling email validation API at {}", apiUrl);
+
+        //El bulkhead va por fuera: una llamada rechazada por concurrencia no cuenta como fallo del circuit breaker
+        var call = Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker,
+                () -> restTemplate.getForObject(apiUrl + QUERY_TEMPLATE, EmailValidationResponse.class,
+                        apiKey, email)));
+
+        long start = System.nanoTime();
+        try {
+            EmailValidationResponse response = call.get();
+            log.debug("Email validation response: {}", response);
+            if (response == null) {
+                failedCalls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return new CachedResponse(fallbackResponse(email), true);
+            }
+            successfulCalls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (response.isFormatValid() && response.getDomain() != null) {
+                verdictsByDomain.put(response.getDomain().toLowerCase(Locale.ROOT),
+                        new DomainVerdict(response.isMxFound(), response.isDisposable()));
+            }
+            return new CachedResponse(response, false);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            rejectedCalls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.warn("Email validation API not called: {}", e.getMessage());
+            return new CachedResponse(fallbackResponse(email), true);
+        } catch (Exception e) {
+            failedCalls.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Error validating email: {}", e.getMessage(), e);
+            return new CachedResponse(fallbackResponse(email), true);
+        }
+    }
+
+    private static EmailValidationResponse fallbackResponse(String email) {
+        EmailValidationResponse fallbackResponse = new EmailValidationResponse();
+        fallbackResponse.setEmail(email);
+        fallbackResponse.setFormatValid(false);
+        fallbackResponse.setMxFound(false);
+        fallbackResponse.setDisposable(true);
+        return fallbackResponse;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //Las respuestas son mutables, así que la caché nunca comparte su instancia con quien llama
+    private static EmailValidationResponse copy(EmailValidationResponse response) {
+        return new EmailValidationResponse(response.getEmail(), response.getDidYouMean(), response.getUser(),
+                response.getDomain(), response.isFormatValid(), response.isMxFound(), response.isSmtpCheck(),
+                response.getCatchAll(), response.isRole(), response.isDisposable(), response.isFree(),
+                response.getScore());
+    }
+
+    private record CachedResponse(EmailValidationResponse response, boolean fallback) {}
+
+    private record DomainVerdict(boolean mxFound, boolean disposable) {}
+}
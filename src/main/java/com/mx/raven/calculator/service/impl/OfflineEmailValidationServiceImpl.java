@@ -0,0 +1,106 @@
+package com.mx.raven.calculator.service.impl;
+
+import com.mx.raven.calculator.email.DisposableDomainSet;
+import com.mx.raven.calculator.email.EmailFormat;
+import com.mx.raven.calculator.email.MxResolver;
+import com.mx.raven.calculator.model.EmailValidationResponse;
+import com.mx.raven.calculator.service.EmailValidationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Validates addresses with local data only: format check, disposable domain list and a cached MX lookup.
+ * Mailboxlayer is called only when the local answer is inconclusive (unusual address syntax or a DNS failure).
+ * Enabled with {@code calculator.email-validation.engine=offline}; it then takes precedence over the mailboxlayer
+ * implementation, which stays available as the fallback.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "calculator.email-validation.engine", havingValue = "offline")
+@Slf4j
+public class OfflineEmailValidationServiceImpl implements EmailValidationService {
+
+    private final DisposableDomainSet disposableDomains;
+    private final MxResolver mxResolver;
+    private final EmailValidationServiceImpl mailboxlayer;
+    private final Counter localVerdicts;
+    private final Counter mailboxlayerVerdicts;
+
+    public OfflineEmailValidationServiceImpl(DisposableDomainSet disposableDomains, MxResolver mxResolver,
+                                             EmailValidationServiceImpl mailboxlayer, MeterRegistry meterRegistry) {
+        this.disposableDomains = disposableDomains;
+        this.mxResolver = mxResolver;
+        this.mailboxlayer = mailboxlayer;
+        this.localVerdicts = verdictCounter(meterRegistry, "local");
+        this.mailboxlayerVerdicts = verdictCounter(meterRegistry, "mailboxlayer");
+    }
+
+    @Override
+    public EmailValidationResponse validateEmail(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+
+        var format = EmailFormat.check(normalized);
+        if (format == EmailFormat.Result.INCONCLUSIVE)
+            return fallback(email, "unusual address syntax");
+        if (format == EmailFormat.Result.INVALID)
+            return local(normalized, false, false, false);
+
+        String domain = normalized.substring(normalized.lastIndexOf('@') + 1);
+        //Un dominio desechable invalida la dirección sin necesidad de consultar DNS
+        if (disposableDomains.contains(domain))
+            return local(normalized, true, false, true);
+
+        return switch (mxResolver.lookup(domain)) {
+            case FOUND -> local(normalized, true, true, false);
+            case NOT_FOUND -> local(normalized, true, false, false);
+            case UNKNOWN -> fallback(email, "MX lookup failed");
+        };
+    }
+
+    @Override
+    public boolean isEmailValid(String email) {
+        EmailValidationResponse response = validateEmail(email);
+        boolean isValid = response.isFormatValid() &&
+                          response.isMxFound() &&
+                          !response.isDisposable();
+
+        log.info("Email {} validation result: {}", email, isValid);
+
+        return isValid;
+    }
+
+    private EmailValidationResponse local(String email, boolean formatValid, boolean mxFound, boolean disposable) {
+        localVerdicts.increment();
+
+        int at = email.lastIndexOf('@');
+        var response = new EmailValidationResponse();
+        response.setEmail(email);
+        if (formatValid) {
+            response.setUser(email.substring(0, at));
+            response.setDomain(email.substring(at + 1));
+        }
+        response.setFormatValid(formatValid);
+        response.setMxFound(mxFound);
+        response.setDisposable(disposable);
+        return response;
+    }
+
+    private EmailValidationResponse fallback(String email, String reason) {
+        log.debug("Local email validation inconclusive for {} ({}), calling mailboxlayer", email, reason);
+        mailboxlayerVerdicts.increment();
+        return mailboxlayer.validateEmail(email);
+    }
+
+    private static Counter verdictCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("email.validation.verdicts")
+                .description("Email validations by the source that produced the verdict")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
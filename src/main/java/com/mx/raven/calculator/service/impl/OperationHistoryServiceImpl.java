@@ -1,55 +1,130 @@
 package com.mx.raven.calculator.service.impl;
 
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
 import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.model.HistoryCursor;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.persistence.entities.UserOperation;
 import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
 import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.TokenUserIds;
 import com.mx.raven.calculator.service.OperationHistoryService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.criteria.Predicate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class OperationHistoryServiceImpl implements OperationHistoryService {
     private static final String OPERATION_FIELD = "operation";
     private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String ID_FIELD = "id";
+    private static final String USER_FIELD = "user";
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String QUERY_METRIC = "calculator.history.query";
+    //Forma del filtro: bit 0 = tipo de operación, bit 1 = alguna fecha
+    private static final String[] FILTER_SHAPES = {"none", "type", "dates", "type_dates"};
 
     private final UserOperationEventRepository repository;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserEventRepository userEventRepository;
 
+    //[consulta][forma del filtro], registrados al arrancar
+    private final Timer[][] queryTimers;
+
+    public OperationHistoryServiceImpl(UserOperationEventRepository repository, JwtTokenUtil jwtTokenUtil,
+                                       UserEventRepository userEventRepository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.userEventRepository = userEventRepository;
+
+        var queries = HistoryQuery.values();
+        this.queryTimers = new Timer[queries.length][FILTER_SHAPES.length];
+        for (var query : queries) {
+            for (int shape = 0; shape < FILTER_SHAPES.length; shape++) {
+                queryTimers[query.ordinal()][shape] = Timer.builder(QUERY_METRIC)
+                        .description("Time spent in the history query; for exports, until the last row is written")
+                        .tag("query", query.tag)
+                        .tag("filter", FILTER_SHAPES[shape])
+                        .register(meterRegistry);
+            }
+        }
+    }
+
     @Override
     public Page<UserOperationDTO> getOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
                                                 Optional<LocalDateTime> endDate, Pageable pageable, String token) {
 
-        getUserIdFromToken(token);
+        Long userId = getUserIdFromToken(token);
 
-        Specification<UserOperation> spec = buildSpecification(operationType, startDate, endDate);
+        Specification<UserOperation> spec = buildSpecification(userId, operationType, startDate, endDate);
 
+        long start = System.nanoTime();
         var operations = repository.storePageUserOperations(spec, pageable);
+        queryTimer(HistoryQuery.PAGE, operationType, startDate, endDate)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         log.debug("Found {} operations", operations.getTotalElements());
         log.debug("Returning page of {} operations", operations.getNumberOfElements());
 
         return operations;
     }
 
+    @Override
+    public CursorPageDTO<UserOperationDTO> getOperationsByCursor(Optional<String> operationType,
+                                                                 Optional<LocalDateTime> startDate,
+                                                                 Optional<LocalDateTime> endDate,
+                                                                 Optional<String> cursor, int size, String token) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE)
+            throw new InvalidObjectException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+
+        Long userId = getUserIdFromToken(token);
+
+        Specification<UserOperation> filters = buildSpecification(userId, operationType, startDate, endDate);
+        Specification<UserOperation> spec = cursor
+                .map(HistoryCursor::decode)
+                .map(position -> filters.and(seekAfter(position)))
+                .orElse(filters);
+
+        //Se pide un elemento extra para saber si hay siguiente página sin ejecutar un COUNT(*)
+        long start = System.nanoTime();
+        var operations = repository.storeSeekUserOperations(spec, size + 1);
+        queryTimer(HistoryQuery.CURSOR, operationType, startDate, endDate)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        boolean hasNext = operations.size() > size;
+        var content = hasNext ? operations.subList(0, size) : operations;
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            nextCursor = new HistoryCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        log.debug("Returning cursor page of {} operations, hasNext: {}", content.size(), hasNext);
+
+        return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor);
+    }
+
     @Override
     public UserOperationDTO getOperationById(Long id, String token) {
-        getUserIdFromToken(token);
+        Long userId = getUserIdFromToken(token);
         log.debug("Getting operation by id: {}", id);
 
-        var operation = repository.storeGetByIdUserOperation(id)
+        var operation = repository.storeGetByIdUserOperation(id, userId)
                 .orElseThrow(() -> new ObjectNotFoundException("Operation not found with id: " + id));
         log.debug("Found operation: {}", operation);
 
@@ -58,36 +133,73 @@ public class OperationHistoryServiceImpl implements OperationHistoryService {
 
     @Override
     public void deleteOperationById(Long id, String token) {
+        Long userId = getUserIdFromToken(token);
         log.debug("Deleting operation by id: {}", id);
 
-        getOperationById(id, token);
-
-        repository.storeDeleteUserOperation(id);
+        if (!repository.storeDeleteUserOperation(id, userId))
+            throw new ObjectNotFoundException("Operation not found with id: " + id);
         log.info("Operation deleted successfully");
     }
 
-    private Specification<UserOperation> buildSpecification(Optional<String> operationType,
+    @Override
+    public long exportOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                 Optional<LocalDateTime> endDate, String token, Consumer<UserOperationDTO> consumer) {
+        Long userId = getUserIdFromToken(token);
+
+        long start = System.nanoTime();
+        long exported = repository.storeStreamUserOperations(userId, operationType, startDate, endDate, consumer);
+        queryTimer(HistoryQuery.EXPORT, operationType, startDate, endDate)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Exported {} operations", exported);
+
+        return exported;
+    }
+
+    private Timer queryTimer(HistoryQuery query, Optional<String> operationType, Optional<LocalDateTime> startDate,
+                             Optional<LocalDateTime> endDate) {
+        int shape = (operationType.isPresent() ? 1 : 0) | (startDate.isPresent() || endDate.isPresent() ? 2 : 0);
+        return queryTimers[query.ordinal()][shape];
+    }
+
+    private Specification<UserOperation> buildSpecification(Long userId,
+                                                            Optional<String> operationType,
                                                             Optional<LocalDateTime> startDate,
                                                             Optional<LocalDateTime> endDate) {
-        return operationType
-                .map(type -> Specification.<UserOperation>where((root, query, cb) ->
-                        cb.equal(root.get(OPERATION_FIELD), type)))
-                .map(spec -> startDate
-                        .map(date -> spec.and((root, query, cb) ->
-                                cb.greaterThanOrEqualTo(root.get(TIMESTAMP_FIELD), date)))
-                        .orElse(spec))
-                .map(spec -> endDate
-                        .map(date -> spec.and((root, query, cb) ->
-                                cb.lessThanOrEqualTo(root.get(TIMESTAMP_FIELD), date)))
-                        .orElse(spec))
-                .orElse(Specification.where(null));
+        //El usuario siempre forma parte del filtro para que las consultas usen los índices (user_id, ...)
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get(USER_FIELD).get(ID_FIELD), userId));
+            operationType.ifPresent(type -> predicates.add(cb.equal(root.get(OPERATION_FIELD), type)));
+            startDate.ifPresent(date -> predicates.add(cb.greaterThanOrEqualTo(root.get(TIMESTAMP_FIELD), date)));
+            endDate.ifPresent(date -> predicates.add(cb.lessThanOrEqualTo(root.get(TIMESTAMP_FIELD), date)));
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    //timestamp <= t AND (timestamp < t OR id < id): la primera condición permite un range scan sobre el índice
+    private Specification<UserOperation> seekAfter(HistoryCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get(TIMESTAMP_FIELD), cursor.timestamp()),
+                cb.or(cb.lessThan(root.get(TIMESTAMP_FIELD), cursor.timestamp()),
+                        cb.lessThan(root.get(ID_FIELD), cursor.id())));
+    }
+
+    private Long getUserIdFromToken(String token) {
+        return TokenUserIds.resolve(jwtTokenUtil, token, Function.identity(), username ->
+                userEventRepository.findByUsername(username)
+                        .map(UserDTO::getId)
+                        .orElseThrow(() -> TokenUserIds.userNotFound(username)));
     }
 
+    private enum HistoryQuery {
+        PAGE("page"),
+        CURSOR("cursor"),
+        EXPORT("export");
 
-    private void getUserIdFromToken(String token) {
-        String username = jwtTokenUtil.getUsernameFromToken(token);
+        private final String tag;
 
-        userEventRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        HistoryQuery(String tag) {
+            this.tag = tag;
+        }
     }
 }
@@ -1,56 +1,209 @@
 package com.mx.raven.calculator.service.impl;
 
+import com.mx.raven.calculator.calculation.OperationType;
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
 import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import com.mx.raven.calculator.persistence.writebehind.UserOperationWriteBehindQueue;
 import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.TokenUserIds;
 import com.mx.raven.calculator.service.UserOperationService;
 import com.mx.raven.calculator.validation.UserOperationSaveValidator;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class UserOperationServiceImpl implements UserOperationService {
 
-    private final UserOperationSaveValidator validator;
+    private static final String EXPRESSION_OPERATION = "expression";
+    private static final String CALCULATE_METRIC = "calculator.operation.calculate";
+    //Cualquier otro valor del parámetro operation se agrupa aquí para no crear una serie por cada texto recibido
+    private static final String UNKNOWN_OPERATION = "unknown";
+
+    private final UserOperationCalculator calculator;
     private final UserOperationEventRepository repository;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserEventRepository userEventRepository;
+    private final UserOperationWriteBehindQueue writeBehindQueue;
+    private final ExpressionEngine expressionEngine;
+
+    //Timers registrados al arrancar por operación y resultado, para no construir tags en cada cálculo
+    private final Map<OperationType, Timer[]> calculateTimers = new EnumMap<>(OperationType.class);
+    private final Timer[] unknownOperationTimers;
+
+    @Value("${calculator.batch.max-size}")
+    private int maxBatchSize;
+
+    @Value("${calculator.stream.chunk-size}")
+    private int streamChunkSize;
+
+    public UserOperationServiceImpl(UserOperationCalculator calculator, UserOperationEventRepository repository,
+                                    JwtTokenUtil jwtTokenUtil, UserEventRepository userEventRepository,
+                                    UserOperationWriteBehindQueue writeBehindQueue, ExpressionEngine expressionEngine,
+                                    MeterRegistry meterRegistry) {
+        this.calculator = calculator;
+        this.repository = repository;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.userEventRepository = userEventRepository;
+        this.writeBehindQueue = writeBehindQueue;
+        this.expressionEngine = expressionEngine;
+
+        for (var operation : OperationType.values())
+            calculateTimers.put(operation, calculateTimers(meterRegistry, operation.key()));
+        unknownOperationTimers = calculateTimers(meterRegistry, UNKNOWN_OPERATION);
+    }
 
     @Override
-    public UserOperationDTO calculate(String operation, BigDecimal operandA, BigDecimal operandB, String token) {
-        var requestDto = new UserOperationDTO(null, operation, operandA, operandB, null, null, null);
-        return calculate(requestDto, token);
+    public UserOperationDTO calculate(String operation, BigDecimal operandA, BigDecimal operandB, Integer scale,
+                                      RoundingMode roundingMode, String token) {
+        long start = System.nanoTime();
+        OperationType type = null;
+        var outcome = CalculationOutcome.ERROR;
+        try {
+            var requestDto = new UserOperationDTO(null, operation, operandA, operandB, null, null, null, null);
+            var precision = calculator.resolvePrecision(scale, roundingMode);
+
+            type = calculator.calculate(requestDto, precision);
+            requestDto.setTimestamp(LocalDateTime.now());
+            requestDto.setUserId(getUserIdFromToken(token));
+
+            var responseDto = saveOperation(requestDto);
+            outcome = CalculationOutcome.SUCCESS;
+            return responseDto;
+        } catch (InvalidObjectException e) {
+            outcome = CalculationOutcome.INVALID;
+            //Solo en el rechazo: una operación conocida con operandos inválidos conserva su tag
+            if (type == null)
+                type = OperationType.lookup(operation);
+            throw e;
+        } finally {
+            calculateTimer(type, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    private UserOperationDTO calculate(UserOperationDTO requestDto, String token) {
+    @Override
+    public List<BatchOperationResultDTO> calculateBatch(List<UserOperationDTO> operations, Integer scale,
+                                                        RoundingMode roundingMode, String token) {
+        if (operations == null || operations.isEmpty())
+            throw new InvalidObjectException("Batch cannot be null or empty");
+        if (operations.size() > maxBatchSize)
+            throw new InvalidObjectException("Batch cannot contain more than " + maxBatchSize + " operations");
+        var precision = calculator.resolvePrecision(scale, roundingMode);
+
+        log.debug("Calculating batch of {} operations", operations.size());
+
+        Long userId = getUserIdFromToken(token);
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        List<BatchOperationResultDTO> results = new ArrayList<>(operations.size());
+        List<UserOperationDTO> validOperations = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++)
+            results.add(calculator.calculateItem(i, operations.get(i), precision, userId, timestamp, validOperations));
 
-        validator.validate(requestDto);
-        log.debug("Valid operation.");
+        saveValidOperations(results, validOperations, userId);
 
-        BigDecimal result = performCalculation(requestDto.getOperation(),
-                requestDto.getOperandA(),
-                requestDto.getOperandB());
+        log.info("Batch processed: {} saved, {} rejected", validOperations.size(),
+                operations.size() - validOperations.size());
 
+        return results;
+    }
+
+    @Override
+    public int calculateStream(Iterator<UserOperationDTO> operations, Integer scale, RoundingMode roundingMode,
+                               String token, Consumer<List<BatchOperationResultDTO>> chunkConsumer) {
+        //Precisión y usuario se resuelven antes de leer la entrada, mientras aún se puede responder con un error
+        var precision = calculator.resolvePrecision(scale, roundingMode);
+        Long userId = getUserIdFromToken(token);
+
+        int index = 0;
+        long saved = 0;
+        while (operations.hasNext()) {
+            LocalDateTime timestamp = LocalDateTime.now();
+            List<BatchOperationResultDTO> results = new ArrayList<>(streamChunkSize);
+            List<UserOperationDTO> validOperations = new ArrayList<>(streamChunkSize);
+
+            //Solo hay un bloque en memoria: se calcula, se guarda con un saveAll y se entrega antes de leer el siguiente
+            while (results.size() < streamChunkSize && operations.hasNext()) {
+                int i = index++;
+                try {
+                    results.add(calculator.calculateItem(i, operations.next(), precision, userId, timestamp,
+                            validOperations));
+                } catch (InvalidObjectException e) {
+                    if (log.isDebugEnabled())
+                        log.debug("Unreadable operation at index {}: {}", i, e.getMessage());
+                    results.add(new BatchOperationResultDTO(i, null, e.getMessage()));
+                }
+            }
+
+            saveValidOperations(results, validOperations, userId);
+            saved += validOperations.size();
+            chunkConsumer.accept(results);
+        }
+
+        log.info("Stream processed: {} saved, {} rejected", saved, index - saved);
+
+        return index;
+    }
+
+
+    private void saveValidOperations(List<BatchOperationResultDTO> results, List<UserOperationDTO> validOperations,
+                                     Long userId) {
+        if (validOperations.isEmpty())
+            return;
+
+        //saveAll conserva el orden, por lo que se reasignan en el mismo orden de la entrada
+        var savedOperations = repository.storeSaveAllUserOperations(validOperations).iterator();
+        for (var result : results) {
+            if (result.getOperation() != null) {
+                var savedDto = savedOperations.next();
+                savedDto.setUserId(userId);
+                result.setOperation(savedDto);
+            }
+        }
+    }
+
+    @Override
+    public UserOperationDTO calculateExpression(String expression, Map<String, BigDecimal> variables, String token) {
+        BigDecimal evaluated = expressionEngine.evaluate(expression, variables);
+        log.debug("Expression evaluated: {} = {}", expression, evaluated);
+        BigDecimal result = UserOperationSaveValidator.validateExpressionResult(evaluated);
+
+        var requestDto = new UserOperationDTO();
+        requestDto.setOperation(EXPRESSION_OPERATION);
+        requestDto.setExpression(expression);
         requestDto.setResult(result);
         requestDto.setTimestamp(LocalDateTime.now());
-        requestDto.setUserId(getUserIdFromUsername(jwtTokenUtil.getUsernameFromToken(token)));
+        requestDto.setUserId(getUserIdFromToken(token));
 
         return saveOperation(requestDto);
     }
 
     private UserOperationDTO saveOperation(UserOperationDTO requestDto) {
-        var responseDto = repository.storeSaveUserOperation(requestDto);
-        log.info("UserOperationDTO saved: {}", responseDto);
+        var responseDto = writeBehindQueue.isEnabled()
+                ? writeBehindQueue.enqueue(requestDto)
+                : repository.storeSaveUserOperation(requestDto);
 
         if (requestDto.getUserId() != null) {
             responseDto.setUserId(requestDto.getUserId());
@@ -62,23 +215,41 @@ public class UserOperationServiceImpl implements UserOperationService {
         return responseDto;
     }
 
-    private BigDecimal performCalculation(String operation, BigDecimal operandA, BigDecimal operandB) {
-        BigDecimal result = switch (operation.toLowerCase()) {
-            case "add" -> operandA.add(operandB);
-            case "subtract" -> operandA.subtract(operandB);
-            case "multiply" -> operandA.multiply(operandB);
-            case "divide" -> operandA.divide(operandB, 1, RoundingMode.HALF_UP);
-            case "sqrt" -> BigDecimal.valueOf(Math.sqrt(operandA.doubleValue())).setScale(1, RoundingMode.HALF_UP);
-            default -> throw new InvalidObjectException("Invalid operation: " + operation);
-        };
-
-        return result.setScale(1, RoundingMode.HALF_UP);
+    private Timer calculateTimer(OperationType operation, CalculationOutcome outcome) {
+        var timers = operation == null ? unknownOperationTimers : calculateTimers.get(operation);
+        return timers[outcome.ordinal()];
     }
 
-    private Long getUserIdFromUsername(String username) {
-        var user = userEventRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    private static Timer[] calculateTimers(MeterRegistry meterRegistry, String operation) {
+        var outcomes = CalculationOutcome.values();
+        var timers = new Timer[outcomes.length];
+        for (var outcome : outcomes) {
+            timers[outcome.ordinal()] = Timer.builder(CALCULATE_METRIC)
+                    .description("Time to validate, calculate and store a single operation")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+
+    private Long getUserIdFromToken(String token) {
+        return TokenUserIds.resolve(jwtTokenUtil, token, Function.identity(), username ->
+                userEventRepository.findByUsername(username)
+                        .map(UserDTO::getId)
+                        .orElseThrow(() -> TokenUserIds.userNotFound(username)));
+    }
 
-        return user.getId();
+    private enum CalculationOutcome {
+        SUCCESS("success"),
+        //Rechazada por validación (400)
+        INVALID("invalid"),
+        ERROR("error");
+
+        private final String tag;
+
+        CalculationOutcome(String tag) {
+            this.tag = tag;
+        }
     }
 }
@@ -9,14 +9,14 @@ import com.mx.raven.calculator.service.UserService;
 import com.mx.raven.calculator.validation.UserSaveValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +25,6 @@ public class UserServiceImpl implements UserService {
 
     private final UserEventRepository repository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserSaveValidator userSaveValidator;
 
@@ -66,15 +65,9 @@ public class UserServiceImpl implements UserService {
 
         log.info("Credentials validated successfully");
 
-        var authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                authenticationRequest.getUsername(),
-                authenticationRequest.getPassword()
-            )
-        );
-
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtTokenUtil.generateToken(userDetails);
+        //La contraseña ya se verificó arriba; pasar por el AuthenticationManager repetiría el BCrypt completo
+        UserDetails userDetails = new User(user.getUsername(), user.getPassword(), List.of());
+        String token = jwtTokenUtil.generateToken(userDetails, user.getId());
 
         return new AuthenticationResponse(token);
     }
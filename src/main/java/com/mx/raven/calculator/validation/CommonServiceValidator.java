@@ -8,9 +8,16 @@ public abstract class CommonServiceValidator {
     public void validate(UserOperationDTO dto) {}
     public void validate(UserDTO dto) {}
 
+    //Equivale a ^[a-zA-Z0-9]+$ recorriendo los caracteres, sin compilar un Pattern en cada llamada
     public boolean validaCadena(String input) {
-        String regex = "^[a-zA-Z0-9]+$";
-        return input.matches(regex);
+        if (input.isEmpty())
+            return false;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')))
+                return false;
+        }
+        return true;
     }
 
 }
@@ -1,43 +1,73 @@
 package com.mx.raven.calculator.validation;
 
+import com.mx.raven.calculator.calculation.OperationType;
 import com.mx.raven.calculator.exceptions.InvalidObjectException;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 @Component
 public class UserOperationSaveValidator extends CommonServiceValidator {
 
     private static final BigDecimal MIN_VALUE = new BigDecimal("-1000000");
     private static final BigDecimal MAX_VALUE = new BigDecimal("1000000");
+    //raven_operations.result es DECIMAL(65,30): 35 dígitos enteros y 30 decimales como máximo
+    private static final int MAX_RESULT_INTEGER_DIGITS = 35;
+    private static final int MAX_RESULT_SCALE = 30;
 
     @Override
     public void validate(UserOperationDTO dto) {
+        validateOperation(dto);
+    }
+
+    /**
+     * Validates the operation like {@link #validate(UserOperationDTO)} and returns its resolved type, so callers do
+     * not parse the operation name again.
+     */
+    public OperationType validateOperation(UserOperationDTO dto) {
         if (dto == null)
-            throw new InvalidObjectException("UserOperationDTO cannot be null");
+            throw InvalidObjectException.rejected("UserOperationDTO cannot be null");
         if (StringUtils.isBlank(dto.getOperation()))
-            throw new InvalidObjectException("Operation cannot be null or empty");
+            throw InvalidObjectException.rejected("Operation cannot be null or empty");
 
-        String operation = dto.getOperation().toLowerCase();
-        if (!operation.equals("add") && !operation.equals("subtract") && 
-            !operation.equals("multiply") && !operation.equals("divide") && 
-            !operation.equals("sqrt"))
-            throw new InvalidObjectException("Invalid operation: " + dto.getOperation());
+        var operation = OperationType.lookup(dto.getOperation());
+        if (operation == null)
+            throw InvalidObjectException.rejected("Invalid operation: " + dto.getOperation());
 
         if (dto.getOperandA() == null)
-            throw new InvalidObjectException("OperandA cannot be null");
+            throw InvalidObjectException.rejected("OperandA cannot be null");
         if (dto.getOperandA().compareTo(MIN_VALUE) < 0 || dto.getOperandA().compareTo(MAX_VALUE) > 0)
-            throw new InvalidObjectException("OperandA must be between -1000000 and 1000000");
-        if (operation.equals("sqrt") && dto.getOperandA().compareTo(BigDecimal.ZERO) < 0)
-            throw new InvalidObjectException("Square root of negative number is not allowed");
+            throw InvalidObjectException.rejected("OperandA must be between -1000000 and 1000000");
+        if (operation == OperationType.SQRT && dto.getOperandA().compareTo(BigDecimal.ZERO) < 0)
+            throw InvalidObjectException.rejected("Square root of negative number is not allowed");
         if (dto.getOperandB() == null)
-            throw new InvalidObjectException("OperandB cannot be null");
+            throw InvalidObjectException.rejected("OperandB cannot be null");
         if (dto.getOperandB().compareTo(MIN_VALUE) < 0 || dto.getOperandB().compareTo(MAX_VALUE) > 0)
-            throw new InvalidObjectException("OperandB must be between -1000000 and 1000000");
-        if (operation.equals("divide") && dto.getOperandB().compareTo(BigDecimal.ZERO) == 0)
-            throw new InvalidObjectException("Division by zero is not allowed");
+            throw InvalidObjectException.rejected("OperandB must be between -1000000 and 1000000");
+        if (operation == OperationType.DIVIDE && dto.getOperandB().compareTo(BigDecimal.ZERO) == 0)
+            throw InvalidObjectException.rejected("Division by zero is not allowed");
+
+        return operation;
+    }
 
+    /**
+     * Rounds an expression result to the scale of the history column, so the response carries the same value that
+     * is stored, and checks that its integer part fits.
+     *
+     * @return the result with at most 30 fraction digits (HALF_UP, as the expression engine)
+     */
+    public static BigDecimal validateExpressionResult(BigDecimal result) {
+        //Menor que 10^-31: redondea a cero. setScale construiría 10^(scale - 30), que con 1e-20000000 tarda segundos
+        if (result.precision() - result.scale() - 1 < -(MAX_RESULT_SCALE + 1))
+            return BigDecimal.ZERO.setScale(MAX_RESULT_SCALE);
+        //La base de datos redondearía en silencio; se hace aquí para devolver el mismo valor que se guarda
+        if (result.scale() > MAX_RESULT_SCALE)
+            result = result.setScale(MAX_RESULT_SCALE, RoundingMode.HALF_UP);
+        if (result.precision() - result.scale() > MAX_RESULT_INTEGER_DIGITS)
+            throw InvalidObjectException.rejected("Expression result is too large to be stored");
+        return result;
     }
 }
@@ -17,19 +17,26 @@ public class UserSaveValidator extends CommonServiceValidator {
 
     @Override
     public void validate(UserDTO dto) {
-        if (dto == null)
-            throw new InvalidObjectException("Request to register cannot be null");
-        if (StringUtils.isBlank(dto.getUsername()) || !validaCadena(dto.getUsername()))
-            throw new InvalidObjectException("Username is required, no special characters and no blanks");
-        if (StringUtils.isBlank(dto.getPassword()))
-            throw new InvalidObjectException("Password is required");
-        if (StringUtils.isBlank(dto.getEmail()))
-            throw new InvalidObjectException("Email is required");
+        validateFields(dto);
 
         if (!emailValidationService.isEmailValid(dto.getEmail())) {
             log.warn("Invalid email: {}", dto.getEmail());
-            throw new InvalidObjectException("Email is invalid. It must have valid format, valid MX records, and not be disposable.");
+            throw InvalidObjectException.rejected("Email is invalid. It must have valid format, valid MX records, and not be disposable.");
         }
     }
 
+    /**
+     * Local checks only, without the remote email validation; cheap enough to run on the request thread.
+     */
+    public void validateFields(UserDTO dto) {
+        if (dto == null)
+            throw InvalidObjectException.rejected("Request to register cannot be null");
+        if (StringUtils.isBlank(dto.getUsername()) || !validaCadena(dto.getUsername()))
+            throw InvalidObjectException.rejected("Username is required, no special characters and no blanks");
+        if (StringUtils.isBlank(dto.getPassword()))
+            throw InvalidObjectException.rejected("Password is required");
+        if (StringUtils.isBlank(dto.getEmail()))
+            throw InvalidObjectException.rejected("Email is required");
+    }
+
 }
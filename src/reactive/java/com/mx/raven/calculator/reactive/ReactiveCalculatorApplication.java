@@ -0,0 +1,56 @@
+package com.mx.raven.calculator.reactive;
+
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
+import com.mx.raven.calculator.config.OfflineEmailValidationConfig;
+import com.mx.raven.calculator.config.ResilienceConfig;
+import com.mx.raven.calculator.config.RestTemplateConfig;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.VerifiedClaimsCache;
+import com.mx.raven.calculator.service.impl.EmailValidationServiceImpl;
+import com.mx.raven.calculator.service.impl.OfflineEmailValidationServiceImpl;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import com.mx.raven.calculator.validation.UserSaveValidator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive variant of the API: WebFlux handlers on Netty and R2DBC persistence, with the same {@code /calculate},
+ * {@code /history} and {@code /auth} contracts as {@link com.mx.raven.calculator.CalculatorApplication}.
+ * Only built with the {@code reactive} Maven profile. The calculation, validation, expression and JWT classes
+ * of the servlet application are imported as they are; JPA and the servlet controllers are left out.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import({
+        JwtTokenUtil.class,
+        VerifiedClaimsCache.class,
+        UserOperationSaveValidator.class,
+        UserOperationCalculator.class,
+        UserSaveValidator.class,
+        ExpressionEngine.class,
+        EmailValidationServiceImpl.class,
+        OfflineEmailValidationServiceImpl.class,
+        OfflineEmailValidationConfig.class,
+        RestTemplateConfig.class,
+        ResilienceConfig.class
+})
+public class ReactiveCalculatorApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        var application = new SpringApplication(ReactiveCalculatorApplication.class);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mx.raven.calculator.reactive.config;
+
+import com.mx.raven.calculator.reactive.mappers.ReactiveRowsMapper;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    //Pageable en /history, igual que en la variante servlet
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    //RestTemplateAutoConfiguration no se aplica en aplicaciones reactivas; RestTemplateConfig lo necesita para mailboxlayer
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder() {
+        return new RestTemplateBuilder();
+    }
+
+    @Bean
+    public ReactiveRowsMapper reactiveRowsMapping() { return ReactiveRowsMapper.INSTANCE; }
+}
@@ -0,0 +1,33 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.model.dto.ExpressionRequestDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.service.ReactiveUserOperationService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(path = "calculate/expression")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExpressionController {
+
+    private final ReactiveUserOperationService userOperationService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @PostMapping
+    public Mono<ResponseEntity<UserOperationDTO>> evaluate(
+            @RequestBody ExpressionRequestDTO request,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+        log.info("Received expression request");
+        log.debug("Expression: {}, variables: {}", request.getExpression(), request.getVariables());
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return userOperationService.calculateExpression(request.getExpression(), request.getVariables(), token)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.service.ReactiveOperationHistoryService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping(path = "history")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOperationHistoryController {
+
+    private final ReactiveOperationHistoryService operationHistoryService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<UserOperationDTO>>> getHistory(
+            @RequestParam(required = false) Optional<String> operationType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> endDate,
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+
+        log.info("Getting operation history");
+        log.debug("operationType: {}, startDate: {}, endDate: {}, pageable: {}",
+                operationType, startDate, endDate, pageable);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return operationHistoryService.getOperations(operationType, startDate, endDate, pageable, token)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "cursor")
+    public Mono<ResponseEntity<CursorPageDTO<UserOperationDTO>>> getHistoryByCursor(
+            @RequestParam(required = false) Optional<String> operationType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> endDate,
+            @RequestParam(required = false) Optional<String> cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+
+        log.info("Getting operation history by cursor");
+        log.debug("operationType: {}, startDate: {}, endDate: {}, cursor: {}, size: {}",
+                operationType, startDate, endDate, cursor, size);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return operationHistoryService.getOperationsByCursor(operationType, startDate, endDate, cursor, size, token)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "{id}")
+    public Mono<ResponseEntity<UserOperationDTO>> getOperationById(
+            @PathVariable Long id,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+
+        log.info("Getting operation");
+        log.debug("Getting operation by ID: {}", id);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return operationHistoryService.getOperationById(id, token)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping(path = "{id}")
+    public Mono<ResponseEntity<UserOperationDTO>> deleteOperationById(
+            @PathVariable Long id,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+
+        log.info("Deleting operation");
+        log.debug("Deleting operation by ID: {}", id);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return operationHistoryService.deleteOperationById(id, token)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<UserOperationDTO>build()));
+    }
+}
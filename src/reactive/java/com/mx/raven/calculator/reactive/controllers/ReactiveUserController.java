@@ -0,0 +1,40 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.model.AuthenticationRequest;
+import com.mx.raven.calculator.model.AuthenticationResponse;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.reactive.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(path = "auth")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    @PostMapping(path = "register")
+    public Mono<ResponseEntity<UserDTO>> registerUser(@RequestBody UserDTO userDTO) {
+        log.info("Received registration request for user.");
+        log.debug("User to register: {}", userDTO);
+        return userService.registerUser(userDTO)
+                .map(registeredUser -> ResponseEntity.status(HttpStatus.CREATED).body(registeredUser));
+    }
+
+    @PostMapping(path = "login")
+    public Mono<ResponseEntity<AuthenticationResponse>> login(@RequestBody AuthenticationRequest authenticationRequest) {
+        log.info("Received login request for user");
+        log.debug("Authentication request: {}", authenticationRequest);
+        return userService.authenticateUser(authenticationRequest)
+                .map(ResponseEntity::ok);
+    }
+}
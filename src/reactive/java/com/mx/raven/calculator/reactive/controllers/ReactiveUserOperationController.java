@@ -0,0 +1,56 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.service.ReactiveUserOperationService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "calculate")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserOperationController {
+
+    private final ReactiveUserOperationService userOperationService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @PostMapping
+    public Mono<ResponseEntity<UserOperationDTO>> calculate(
+            @RequestParam String operation,
+            @RequestParam BigDecimal operandA,
+            @RequestParam BigDecimal operandB,
+            @RequestParam(required = false) Integer scale,
+            @RequestParam(required = false) RoundingMode roundingMode,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+        log.info("Received calculation request");
+        log.debug("Operation: {}, operandA: {}, operandB: {}, scale: {}, roundingMode: {}",
+                operation, operandA, operandB, scale, roundingMode);
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return userOperationService.calculate(operation, operandA, operandB, scale, roundingMode, token)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping(path = "batch")
+    public Mono<ResponseEntity<List<BatchOperationResultDTO>>> calculateBatch(
+            @RequestBody List<UserOperationDTO> operations,
+            @RequestParam(required = false) Integer scale,
+            @RequestParam(required = false) RoundingMode roundingMode,
+            @RequestHeader(value = "Authorization") String authorizationHeader) {
+        log.info("Received batch calculation request");
+        log.debug("Batch size: {}", operations.size());
+
+        String token = jwtTokenUtil.validateAuthorizationHeader(authorizationHeader);
+        return userOperationService.calculateBatch(operations, scale, roundingMode, token)
+                .map(ResponseEntity::ok);
+    }
+}
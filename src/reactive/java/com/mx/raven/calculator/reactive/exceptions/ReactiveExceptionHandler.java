@@ -0,0 +1,131 @@
+package com.mx.raven.calculator.reactive.exceptions;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import com.mx.raven.calculator.model.dto.ApiErrorDTO;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Same status codes and {@link ApiErrorDTO} body as {@link com.mx.raven.calculator.exceptions.GlobalExceptionHandler}.
+ * Missing or malformed parameters, headers and bodies all arrive as {@link ServerWebInputException} in WebFlux.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<?> handlerException(Exception e, ServerHttpRequest request) {
+        ApiErrorDTO apiErrorDTO = new ApiErrorDTO();
+        apiErrorDTO.setBackendMessage(e.getLocalizedMessage());
+        apiErrorDTO.setUrl(request.getURI().toString());
+        apiErrorDTO.setMethod(request.getMethod().name());
+        apiErrorDTO.setMessage("Internal server error, please try again later.");
+        apiErrorDTO.setTimestamp(LocalDateTime.now());
+
+        log.error("Generic Error: ", e);
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(apiErrorDTO);
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    public ResponseEntity<?> handlerException(MethodNotAllowedException e, ServerHttpRequest request) {
+        log.error("Request method is not supported. ", e);
+        return error(HttpStatus.NOT_FOUND, e, request);
+    }
+
+    @ExceptionHandler(ObjectNotFoundException.class)
+    public ResponseEntity<?> handlerException(ObjectNotFoundException e, ServerHttpRequest request) {
+        log.error("Resource not found. ", e);
+        return error(HttpStatus.NOT_FOUND, e, request);
+    }
+
+    @ExceptionHandler(InvalidObjectException.class)
+    public ResponseEntity<?> handlerException(InvalidObjectException e, ServerHttpRequest request) {
+        log.error("Invalid object exception. ", e);
+        return error(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handlerException(ServiceUnavailableException e, ServerHttpRequest request) {
+        ApiErrorDTO apiErrorDTO = new ApiErrorDTO();
+        generalControlledExceptions(request, e, apiErrorDTO);
+
+        log.warn("Service temporarily unavailable: {}", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiErrorDTO);
+    }
+
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<?> handlerException(BadCredentialsException e, ServerHttpRequest request) {
+        log.error("Incorrect Username or password. ", e);
+        return error(HttpStatus.UNAUTHORIZED, e, request);
+    }
+
+    @ExceptionHandler(UsernameNotFoundException.class)
+    public ResponseEntity<?> handlerException(UsernameNotFoundException e, ServerHttpRequest request) {
+        log.error("User not found. ", e);
+        return error(HttpStatus.UNAUTHORIZED, e, request);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<?> handlerException(ServerWebInputException e, ServerHttpRequest request) {
+        log.error("Invalid request input. ", e);
+        return error(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handlerException(IllegalArgumentException e, ServerHttpRequest request) {
+        log.error("Validation error. ", e);
+        return error(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handlerException(DataIntegrityViolationException e, ServerHttpRequest request) {
+        e = new DataIntegrityViolationException("Username or email already registered. Try again", e);
+        log.error("Username or email already registered. Try again. ", e);
+        return error(HttpStatus.BAD_REQUEST, e, request);
+    }
+
+    @ExceptionHandler(SignatureException.class)
+    public ResponseEntity<?> handlerException(SignatureException e, ServerHttpRequest request) {
+        log.error("Invalid token. Log in again and try again. ", e);
+        return error(HttpStatus.UNAUTHORIZED, e, request);
+    }
+
+    @ExceptionHandler(ExpiredJwtException.class)
+    public ResponseEntity<?> handlerException(ExpiredJwtException e, ServerHttpRequest request) {
+        log.error("Sesion expired. Log in again and try again. ", e);
+        return error(HttpStatus.UNAUTHORIZED, e, request);
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, Exception e, ServerHttpRequest request) {
+        ApiErrorDTO apiErrorDTO = new ApiErrorDTO();
+        generalControlledExceptions(request, e, apiErrorDTO);
+        return ResponseEntity.status(status).body(apiErrorDTO);
+    }
+
+    private void generalControlledExceptions(ServerHttpRequest request, Exception e, ApiErrorDTO apiErrorDTO) {
+        apiErrorDTO.setBackendMessage(e.getCause() != null ? e.getCause().getLocalizedMessage() : e.getLocalizedMessage());
+        apiErrorDTO.setUrl(request.getURI().toString());
+        apiErrorDTO.setMethod(request.getMethod().name());
+        apiErrorDTO.setMessage(e.getMessage());
+        apiErrorDTO.setTimestamp(LocalDateTime.now());
+    }
+
+}
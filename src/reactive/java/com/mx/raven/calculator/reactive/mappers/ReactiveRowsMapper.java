@@ -0,0 +1,22 @@
+package com.mx.raven.calculator.reactive.mappers;
+
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.persistence.rows.UserOperationRow;
+import com.mx.raven.calculator.reactive.persistence.rows.UserRow;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface ReactiveRowsMapper {
+
+    ReactiveRowsMapper INSTANCE = Mappers.getMapper(ReactiveRowsMapper.class);
+
+    UserDTO userRowToUserDTO(UserRow userRow);
+
+    UserRow userDTOToUserRow(UserDTO userDTO);
+
+    UserOperationDTO userOperationRowToUserOperationDTO(UserOperationRow userOperationRow);
+
+    UserOperationRow userOperationDTOToUserOperationRow(UserOperationDTO userOperationDTO);
+}
@@ -0,0 +1,14 @@
+package com.mx.raven.calculator.reactive.persistence.repositories;
+
+import com.mx.raven.calculator.model.dto.UserDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserEventRepository {
+
+    Mono<UserDTO> storeSaveUser(UserDTO dto);
+
+    Mono<UserDTO> findByUsername(String username);
+
+    void evictUser(String username);
+
+}
@@ -0,0 +1,21 @@
+package com.mx.raven.calculator.reactive.persistence.repositories;
+
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveUserOperationEventRepository {
+
+    Mono<UserOperationDTO> storeSaveUserOperation(UserOperationDTO dto);
+    Flux<UserOperationDTO> storeSaveAllUserOperations(List<UserOperationDTO> dtos);
+    Mono<Page<UserOperationDTO>> storePageUserOperations(Criteria criteria, Pageable pageable);
+    Flux<UserOperationDTO> storeSeekUserOperations(Criteria criteria, int limit);
+    Mono<UserOperationDTO> storeGetByIdUserOperation(Long id, Long userId);
+    Mono<Boolean> storeDeleteUserOperation(Long id, Long userId);
+
+}
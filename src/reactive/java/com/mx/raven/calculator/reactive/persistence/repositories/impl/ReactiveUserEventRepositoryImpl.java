@@ -0,0 +1,64 @@
+package com.mx.raven.calculator.reactive.persistence.repositories.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.reactive.mappers.ReactiveRowsMapper;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.persistence.stores.ReactiveUserStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Repository
+public class ReactiveUserEventRepositoryImpl implements ReactiveUserEventRepository {
+
+    private final ReactiveUserStore userStore;
+    private final ReactiveRowsMapper mapper;
+
+    //Misma caché que UserEventRepositoryImpl: el filtro JWT busca al usuario en cada petición
+    private final Cache<String, UserDTO> usersByUsername;
+
+    public ReactiveUserEventRepositoryImpl(ReactiveUserStore userStore, ReactiveRowsMapper mapper,
+                                           @Value("${calculator.users.cache.max-size}") long maxSize,
+                                           @Value("${calculator.users.cache.ttl-ms}") long ttlMillis) {
+        this.userStore = userStore;
+        this.mapper = mapper;
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    @Override
+    public Mono<UserDTO> storeSaveUser(UserDTO dto) {
+        return userStore.save(mapper.userDTOToUserRow(dto))
+                .doOnNext(row -> evictUser(row.getUsername()))
+                .map(mapper::userRowToUserDTO);
+    }
+
+    @Override
+    public Mono<UserDTO> findByUsername(String username) {
+        return Mono.defer(() -> {
+            var cached = usersByUsername.getIfPresent(username);
+            if (cached != null)
+                return Mono.just(copy(cached));
+
+            return userStore.findByUsername(username)
+                    .map(mapper::userRowToUserDTO)
+                    .doOnNext(dto -> usersByUsername.put(username, copy(dto)));
+        });
+    }
+
+    @Override
+    public void evictUser(String username) {
+        usersByUsername.invalidate(username);
+    }
+
+    //Los DTO son mutables, así que la caché nunca comparte su instancia con quien llama
+    private static UserDTO copy(UserDTO dto) {
+        return new UserDTO(dto.getId(), dto.getUsername(), dto.getPassword(), dto.getEmail(), dto.getCreatedAt());
+    }
+}
@@ -0,0 +1,83 @@
+package com.mx.raven.calculator.reactive.persistence.repositories.impl;
+
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.mappers.ReactiveRowsMapper;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserOperationEventRepository;
+import com.mx.raven.calculator.reactive.persistence.rows.UserOperationRow;
+import com.mx.raven.calculator.reactive.persistence.stores.ReactiveUserOperationStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserOperationEventRepositoryImpl implements ReactiveUserOperationEventRepository {
+
+    private static final Sort SEEK_SORT = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    private final ReactiveUserOperationStore userOperationStore;
+    private final R2dbcEntityTemplate template;
+    private final ReactiveRowsMapper mapper;
+
+    @Override
+    public Mono<UserOperationDTO> storeSaveUserOperation(UserOperationDTO dto) {
+        return userOperationStore.save(mapper.userOperationDTOToUserOperationRow(dto))
+                .map(mapper::userOperationRowToUserOperationDTO);
+    }
+
+    @Override
+    @Transactional
+    public Flux<UserOperationDTO> storeSaveAllUserOperations(List<UserOperationDTO> dtos) {
+        //saveAll inserta en orden (concatMap), igual que saveAll de JPA
+        var rows = dtos.stream()
+                .map(mapper::userOperationDTOToUserOperationRow)
+                .toList();
+        return userOperationStore.saveAll(rows)
+                .map(mapper::userOperationRowToUserOperationDTO);
+    }
+
+    @Override
+    public Mono<Page<UserOperationDTO>> storePageUserOperations(Criteria criteria, Pageable pageable) {
+        var content = template.select(UserOperationRow.class)
+                .matching(Query.query(criteria).with(pageable))
+                .all()
+                .map(mapper::userOperationRowToUserOperationDTO)
+                .collectList();
+        var total = template.count(Query.query(criteria), UserOperationRow.class);
+
+        return Mono.zip(content, total)
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    @Override
+    public Flux<UserOperationDTO> storeSeekUserOperations(Criteria criteria, int limit) {
+        //Sin COUNT(*): solo la página pedida, ordenada igual que el índice (user_id, timestamp, id)
+        return template.select(UserOperationRow.class)
+                .matching(Query.query(criteria).sort(SEEK_SORT).limit(limit))
+                .all()
+                .map(mapper::userOperationRowToUserOperationDTO);
+    }
+
+    @Override
+    public Mono<UserOperationDTO> storeGetByIdUserOperation(Long id, Long userId) {
+        return userOperationStore.findByIdAndUserId(id, userId)
+                .map(mapper::userOperationRowToUserOperationDTO);
+    }
+
+    @Override
+    public Mono<Boolean> storeDeleteUserOperation(Long id, Long userId) {
+        return userOperationStore.deleteByIdAndUserId(id, userId)
+                .map(deleted -> deleted > 0);
+    }
+}
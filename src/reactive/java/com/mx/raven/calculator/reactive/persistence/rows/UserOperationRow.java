@@ -0,0 +1,36 @@
+package com.mx.raven.calculator.reactive.persistence.rows;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Table("raven_operations")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserOperationRow {
+
+    @Id
+    private Long id;
+
+    //Sin relaciones en R2DBC: la fila guarda directamente user_id
+    private Long userId;
+
+    private String operation;
+
+    private BigDecimal operandA;
+
+    private BigDecimal operandB;
+
+    private BigDecimal result;
+
+    private LocalDateTime timestamp;
+
+    private String expression;
+
+}
@@ -0,0 +1,29 @@
+package com.mx.raven.calculator.reactive.persistence.rows;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("raven_users")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserRow {
+
+    //AUTO_INCREMENT: R2DBC no usa las secuencias pooled de la variante JPA
+    @Id
+    private Long id;
+
+    private String username;
+
+    private String password;
+
+    private String email;
+
+    private LocalDateTime createdAt;
+
+}
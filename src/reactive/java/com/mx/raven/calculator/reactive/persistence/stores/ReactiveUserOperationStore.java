@@ -0,0 +1,16 @@
+package com.mx.raven.calculator.reactive.persistence.stores;
+
+import com.mx.raven.calculator.reactive.persistence.rows.UserOperationRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserOperationStore extends R2dbcRepository<UserOperationRow, Long> {
+
+    Mono<UserOperationRow> findByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("delete from raven_operations where id = :id and user_id = :userId")
+    Mono<Integer> deleteByIdAndUserId(Long id, Long userId);
+}
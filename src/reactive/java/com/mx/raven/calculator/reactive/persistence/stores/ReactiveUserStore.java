@@ -0,0 +1,9 @@
+package com.mx.raven.calculator.reactive.persistence.stores;
+
+import com.mx.raven.calculator.reactive.persistence.rows.UserRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserStore extends R2dbcRepository<UserRow, Long> {
+    Mono<UserRow> findByUsername(String username);
+}
@@ -0,0 +1,67 @@
+package com.mx.raven.calculator.reactive.security;
+
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reactive equivalent of {@link com.mx.raven.calculator.security.JwtAuthenticationFilter}: a valid Bearer token
+ * of an existing user authenticates the request. It is not a bean, so it only runs inside the security chain.
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ReactiveUserEventRepository userEventRepository;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        //Optional en lugar de switchIfEmpty: un chain.filter vacío (Mono<Void>) ejecutaría la cadena dos veces
+        return authenticate(exchange.getRequest())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(auth -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Authentication> authenticate(ServerHttpRequest request) {
+        String authorizationHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX))
+            return Mono.empty();
+
+        String jwt = authorizationHeader.substring(BEARER_PREFIX.length());
+        String username;
+        try {
+            username = jwtTokenUtil.extractUsername(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            //Token inválido o caducado: la petición sigue sin autenticar y la seguridad responde
+            return Mono.empty();
+        }
+        if (username == null)
+            return Mono.empty();
+
+        return userEventRepository.findByUsername(username)
+                .map(user -> new User(user.getUsername(), user.getPassword(), List.of()))
+                .filter(userDetails -> Boolean.TRUE.equals(jwtTokenUtil.validateToken(jwt, userDetails)))
+                .map(userDetails -> new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()));
+    }
+}
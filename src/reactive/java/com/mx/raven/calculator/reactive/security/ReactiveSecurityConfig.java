@@ -0,0 +1,51 @@
+package com.mx.raven.calculator.reactive.security;
+
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.security.BoundedPasswordEncoder;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtTokenUtil jwtTokenUtil,
+                                                         ReactiveUserEventRepository userEventRepository) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            //Sin sesión, como SessionCreationPolicy.STATELESS
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(auth -> auth
+                .pathMatchers("/auth/**", "/actuator/health").permitAll()
+                .anyExchange().authenticated()
+            )
+            //Mismo 403 que devuelve la variante servlet a una petición sin autenticar
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+            .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtTokenUtil, userEventRepository),
+                    SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${calculator.security.bcrypt.strength}") int strength,
+                                           @Value("${calculator.security.hashing.threads}") int threads,
+                                           @Value("${calculator.security.hashing.queue-capacity}") int queueCapacity) {
+        return BoundedPasswordEncoder.bcrypt(strength, threads, queueCapacity, meterRegistry);
+    }
+}
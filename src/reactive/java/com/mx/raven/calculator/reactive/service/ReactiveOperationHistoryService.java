@@ -0,0 +1,22 @@
+package com.mx.raven.calculator.reactive.service;
+
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ReactiveOperationHistoryService {
+
+    Mono<Page<UserOperationDTO>> getOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                               Optional<LocalDateTime> endDate, Pageable pageable, String token);
+    Mono<CursorPageDTO<UserOperationDTO>> getOperationsByCursor(Optional<String> operationType,
+                                                                Optional<LocalDateTime> startDate,
+                                                                Optional<LocalDateTime> endDate,
+                                                                Optional<String> cursor, int size, String token);
+    Mono<UserOperationDTO> getOperationById(Long id, String token);
+    Mono<Void> deleteOperationById(Long id, String token);
+}
@@ -0,0 +1,21 @@
+package com.mx.raven.calculator.reactive.service;
+
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveUserOperationService {
+
+    Mono<UserOperationDTO> calculate(String operation, BigDecimal operandA, BigDecimal operandB, Integer scale,
+                                     RoundingMode roundingMode, String token);
+
+    Mono<List<BatchOperationResultDTO>> calculateBatch(List<UserOperationDTO> operations, Integer scale,
+                                                       RoundingMode roundingMode, String token);
+
+    Mono<UserOperationDTO> calculateExpression(String expression, Map<String, BigDecimal> variables, String token);
+}
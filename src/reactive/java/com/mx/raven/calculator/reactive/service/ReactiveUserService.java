@@ -0,0 +1,13 @@
+package com.mx.raven.calculator.reactive.service;
+
+import com.mx.raven.calculator.model.AuthenticationRequest;
+import com.mx.raven.calculator.model.AuthenticationResponse;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+
+    Mono<UserDTO> registerUser(UserDTO userDTO);
+
+    Mono<AuthenticationResponse> authenticateUser(AuthenticationRequest authenticationRequest);
+}
@@ -0,0 +1,125 @@
+package com.mx.raven.calculator.reactive.service.impl;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.model.HistoryCursor;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserOperationEventRepository;
+import com.mx.raven.calculator.reactive.service.ReactiveOperationHistoryService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.TokenUserIds;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveOperationHistoryServiceImpl implements ReactiveOperationHistoryService {
+    private static final String OPERATION_FIELD = "operation";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String ID_FIELD = "id";
+    private static final String USER_ID_FIELD = "userId";
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private final ReactiveUserOperationEventRepository repository;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ReactiveUserEventRepository userEventRepository;
+
+    @Override
+    public Mono<Page<UserOperationDTO>> getOperations(Optional<String> operationType, Optional<LocalDateTime> startDate,
+                                                      Optional<LocalDateTime> endDate, Pageable pageable, String token) {
+        return getUserIdFromToken(token)
+                .flatMap(userId -> repository.storePageUserOperations(
+                        buildCriteria(userId, operationType, startDate, endDate), pageable))
+                .doOnNext(operations -> log.debug("Returning page of {} operations of {}",
+                        operations.getNumberOfElements(), operations.getTotalElements()));
+    }
+
+    @Override
+    public Mono<CursorPageDTO<UserOperationDTO>> getOperationsByCursor(Optional<String> operationType,
+                                                                       Optional<LocalDateTime> startDate,
+                                                                       Optional<LocalDateTime> endDate,
+                                                                       Optional<String> cursor, int size, String token) {
+        return Mono.defer(() -> {
+            if (size < 1 || size > MAX_CURSOR_PAGE_SIZE)
+                throw new InvalidObjectException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+            var position = cursor.map(HistoryCursor::decode);
+
+            return getUserIdFromToken(token).flatMap(userId -> {
+                Criteria filters = buildCriteria(userId, operationType, startDate, endDate);
+                Criteria criteria = position.map(p -> filters.and(seekAfter(p))).orElse(filters);
+
+                //Se pide un elemento extra para saber si hay siguiente página sin ejecutar un COUNT(*)
+                return repository.storeSeekUserOperations(criteria, size + 1).collectList();
+            });
+        }).map(operations -> {
+            boolean hasNext = operations.size() > size;
+            var content = hasNext ? operations.subList(0, size) : operations;
+
+            String nextCursor = null;
+            if (hasNext) {
+                var last = content.get(content.size() - 1);
+                nextCursor = new HistoryCursor(last.getTimestamp(), last.getId()).encode();
+            }
+            log.debug("Returning cursor page of {} operations, hasNext: {}", content.size(), hasNext);
+
+            return new CursorPageDTO<>(content, content.size(), hasNext, nextCursor);
+        });
+    }
+
+    @Override
+    public Mono<UserOperationDTO> getOperationById(Long id, String token) {
+        return getUserIdFromToken(token)
+                .flatMap(userId -> repository.storeGetByIdUserOperation(id, userId))
+                .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Operation not found with id: " + id)))
+                .doOnNext(operation -> log.debug("Found operation: {}", operation));
+    }
+
+    @Override
+    public Mono<Void> deleteOperationById(Long id, String token) {
+        return getUserIdFromToken(token)
+                .flatMap(userId -> repository.storeDeleteUserOperation(id, userId))
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ObjectNotFoundException("Operation not found with id: " + id)))
+                .doOnSuccess(ignored -> log.info("Operation deleted successfully"));
+    }
+
+    //El usuario siempre forma parte del filtro para que las consultas usen los índices (user_id, ...)
+    private Criteria buildCriteria(Long userId, Optional<String> operationType,
+                                   Optional<LocalDateTime> startDate, Optional<LocalDateTime> endDate) {
+        Criteria criteria = Criteria.where(USER_ID_FIELD).is(userId);
+        if (operationType.isPresent())
+            criteria = criteria.and(OPERATION_FIELD).is(operationType.get());
+        if (startDate.isPresent())
+            criteria = criteria.and(TIMESTAMP_FIELD).greaterThanOrEquals(startDate.get());
+        if (endDate.isPresent())
+            criteria = criteria.and(TIMESTAMP_FIELD).lessThanOrEquals(endDate.get());
+        return criteria;
+    }
+
+    //timestamp <= t AND (timestamp < t OR id < id): la primera condición permite un range scan sobre el índice
+    private Criteria seekAfter(HistoryCursor cursor) {
+        return Criteria.where(TIMESTAMP_FIELD).lessThanOrEquals(cursor.timestamp())
+                .and(Criteria.where(TIMESTAMP_FIELD).lessThan(cursor.timestamp())
+                        .or(ID_FIELD).lessThan(cursor.id()));
+    }
+
+    private Mono<Long> getUserIdFromToken(String token) {
+        return Mono.defer(() -> TokenUserIds.resolve(jwtTokenUtil, token, Mono::just, username ->
+                userEventRepository.findByUsername(username)
+                        .map(UserDTO::getId)
+                        .switchIfEmpty(Mono.error(() -> TokenUserIds.userNotFound(username)))));
+    }
+}
@@ -0,0 +1,145 @@
+package com.mx.raven.calculator.reactive.service.impl;
+
+import com.mx.raven.calculator.calculation.CalculationPrecision;
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserOperationEventRepository;
+import com.mx.raven.calculator.reactive.service.ReactiveUserOperationService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.security.TokenUserIds;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same rules as {@link com.mx.raven.calculator.service.impl.UserOperationServiceImpl}, sharing its validation and
+ * calculation through {@link UserOperationCalculator}. Those are CPU-only and run on the event loop; only the inserts
+ * are asynchronous. Write-behind is not supported here.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveUserOperationServiceImpl implements ReactiveUserOperationService {
+
+    private static final String EXPRESSION_OPERATION = "expression";
+
+    private final UserOperationCalculator calculator;
+    private final ReactiveUserOperationEventRepository repository;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ReactiveUserEventRepository userEventRepository;
+    private final ExpressionEngine expressionEngine;
+
+    @Value("${calculator.batch.max-size}")
+    private int maxBatchSize;
+
+    @Override
+    public Mono<UserOperationDTO> calculate(String operation, BigDecimal operandA, BigDecimal operandB, Integer scale,
+                                            RoundingMode roundingMode, String token) {
+        return Mono.defer(() -> {
+            var requestDto = new UserOperationDTO(null, operation, operandA, operandB, null, null, null, null);
+            var precision = calculator.resolvePrecision(scale, roundingMode);
+
+            calculator.calculate(requestDto, precision);
+            requestDto.setTimestamp(LocalDateTime.now());
+
+            return saveOperation(requestDto, token);
+        });
+    }
+
+    @Override
+    public Mono<List<BatchOperationResultDTO>> calculateBatch(List<UserOperationDTO> operations, Integer scale,
+                                                              RoundingMode roundingMode, String token) {
+        return Mono.defer(() -> {
+            if (operations == null || operations.isEmpty())
+                throw new InvalidObjectException("Batch cannot be null or empty");
+            if (operations.size() > maxBatchSize)
+                throw new InvalidObjectException("Batch cannot contain more than " + maxBatchSize + " operations");
+            var precision = calculator.resolvePrecision(scale, roundingMode);
+
+            log.debug("Calculating batch of {} operations", operations.size());
+
+            return getUserIdFromToken(token).flatMap(userId -> saveBatch(operations, precision, userId));
+        });
+    }
+
+    private Mono<List<BatchOperationResultDTO>> saveBatch(List<UserOperationDTO> operations,
+                                                          CalculationPrecision precision, Long userId) {
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        List<BatchOperationResultDTO> results = new ArrayList<>(operations.size());
+        List<UserOperationDTO> validOperations = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++)
+            results.add(calculator.calculateItem(i, operations.get(i), precision, userId, timestamp, validOperations));
+
+        if (validOperations.isEmpty())
+            return Mono.just(results);
+
+        return repository.storeSaveAllUserOperations(validOperations)
+                .collectList()
+                .map(savedOperations -> {
+                    //saveAll conserva el orden, por lo que se reasignan en el mismo orden de la entrada
+                    var saved = savedOperations.iterator();
+                    for (var result : results) {
+                        if (result.getOperation() != null)
+                            result.setOperation(saved.next());
+                    }
+
+                    log.info("Batch processed: {} saved, {} rejected", validOperations.size(),
+                            operations.size() - validOperations.size());
+                    return results;
+                });
+    }
+
+    @Override
+    public Mono<UserOperationDTO> calculateExpression(String expression, Map<String, BigDecimal> variables, String token) {
+        return Mono.defer(() -> {
+            BigDecimal evaluated = expressionEngine.evaluate(expression, variables);
+            log.debug("Expression evaluated: {} = {}", expression, evaluated);
+            BigDecimal result = UserOperationSaveValidator.validateExpressionResult(evaluated);
+
+            var requestDto = new UserOperationDTO();
+            requestDto.setOperation(EXPRESSION_OPERATION);
+            requestDto.setExpression(expression);
+            requestDto.setResult(result);
+            requestDto.setTimestamp(LocalDateTime.now());
+
+            return saveOperation(requestDto, token);
+        });
+    }
+
+    private Mono<UserOperationDTO> saveOperation(UserOperationDTO requestDto, String token) {
+        return getUserIdFromToken(token)
+                .flatMap(userId -> {
+                    requestDto.setUserId(userId);
+                    return repository.storeSaveUserOperation(requestDto);
+                })
+                .map(responseDto -> {
+                    log.info("Operation saved successfully");
+                    log.debug("Response DTO: {}", responseDto);
+                    return responseDto;
+                });
+    }
+
+    private Mono<Long> getUserIdFromToken(String token) {
+        return Mono.defer(() -> TokenUserIds.resolve(jwtTokenUtil, token, Mono::just, username ->
+                userEventRepository.findByUsername(username)
+                        .map(UserDTO::getId)
+                        .switchIfEmpty(Mono.error(() -> TokenUserIds.userNotFound(username)))));
+    }
+}
@@ -0,0 +1,79 @@
+package com.mx.raven.calculator.reactive.service.impl;
+
+import com.mx.raven.calculator.model.AuthenticationRequest;
+import com.mx.raven.calculator.model.AuthenticationResponse;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.service.ReactiveUserService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.validation.UserSaveValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final String LOGIN_FAILED = "Login failed. Incorrect username or password";
+
+    private final ReactiveUserEventRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final UserSaveValidator userSaveValidator;
+
+    @Override
+    public Mono<UserDTO> registerUser(UserDTO userDTO) {
+        log.info("Registering user");
+        log.debug("User to register: {}", userDTO);
+
+        //La validación del email (HTTP o DNS) y BCrypt bloquean: nunca se ejecutan en el event loop
+        return Mono.fromCallable(() -> {
+                    userSaveValidator.validate(userDTO);
+                    log.debug("Valid user");
+
+                    userDTO.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+                    userDTO.setCreatedAt(LocalDateTime.now());
+                    return userDTO;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(repository::storeSaveUser)
+                .map(userDtoSaved -> {
+                    //Se setea null solo en el response por seguridad
+                    userDtoSaved.setPassword(null);
+                    log.debug("User DTO saved: {}", userDtoSaved);
+                    log.info("User registered successfully");
+                    return userDtoSaved;
+                });
+    }
+
+    @Override
+    public Mono<AuthenticationResponse> authenticateUser(AuthenticationRequest authenticationRequest) {
+        log.info("Authenticating user: {}", authenticationRequest.getUsername());
+
+        return repository.findByUsername(authenticationRequest.getUsername())
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException(LOGIN_FAILED)))
+                .flatMap(user -> Mono.fromCallable(() -> passwordEncoder.matches(authenticationRequest.getPassword(), user.getPassword()))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                log.debug("Invalid password for user: {}", authenticationRequest.getUsername());
+                                return Mono.error(new BadCredentialsException(LOGIN_FAILED));
+                            }
+
+                            log.info("Credentials validated successfully");
+                            UserDetails userDetails = new User(user.getUsername(), user.getPassword(), List.of());
+                            return Mono.just(new AuthenticationResponse(jwtTokenUtil.generateToken(userDetails, user.getId())));
+                        }));
+    }
+}
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS raven_users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(20) UNIQUE,
+    password VARCHAR(150),
+    email VARCHAR(40) UNIQUE,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS raven_operations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT REFERENCES raven_users (id),
+    operation VARCHAR(20),
+    operand_a DECIMAL(38, 2),
+    operand_b DECIMAL(38, 2),
+    result DECIMAL(65, 30),
+    timestamp TIMESTAMP(6),
+    expression VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_operations_user_timestamp ON raven_operations (user_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_operations_user_operation_timestamp ON raven_operations (user_id, operation, timestamp, id);
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS raven_users (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(20) UNIQUE,
+    password VARCHAR(150),
+    email VARCHAR(40) UNIQUE,
+    created_at DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS raven_operations (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT,
+    operation VARCHAR(20),
+    operand_a DECIMAL(38, 2),
+    operand_b DECIMAL(38, 2),
+    result DECIMAL(65, 30),
+    timestamp DATETIME(6),
+    expression VARCHAR(500),
+    CONSTRAINT fk_operations_user FOREIGN KEY (user_id) REFERENCES raven_users (id),
+    INDEX idx_operations_user_timestamp (user_id, timestamp, id),
+    INDEX idx_operations_user_operation_timestamp (user_id, operation, timestamp, id)
+);
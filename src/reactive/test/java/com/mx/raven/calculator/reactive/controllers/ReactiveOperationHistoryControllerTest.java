@@ -0,0 +1,95 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.exceptions.ReactiveExceptionHandler;
+import com.mx.raven.calculator.reactive.service.ReactiveOperationHistoryService;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class ReactiveOperationHistoryControllerTest {
+
+    @Mock
+    private ReactiveOperationHistoryService operationHistoryService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    @InjectMocks
+    private ReactiveOperationHistoryController controller;
+
+    private WebTestClient webTestClient;
+
+    private final String authorizationHeader = "Bearer valid-token";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(controller)
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+        when(jwtTokenUtil.validateAuthorizationHeader(authorizationHeader)).thenReturn("valid-token");
+    }
+
+    @Test
+    void getHistoryByCursor_Success() {
+        var operation = new UserOperationDTO(1L, "add", BigDecimal.ONE, BigDecimal.ONE, new BigDecimal("2"),
+                LocalDateTime.of(2025, 1, 1, 10, 0), 1L, null);
+        when(operationHistoryService.getOperationsByCursor(Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty(), 10, "valid-token"))
+                .thenReturn(Mono.just(new CursorPageDTO<>(List.of(operation), 1, false, null)));
+
+        webTestClient.get().uri("/history/cursor")
+                .header("Authorization", authorizationHeader)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    void getOperationById_NotFound() {
+        when(operationHistoryService.getOperationById(eq(99L), eq("valid-token")))
+                .thenReturn(Mono.error(new ObjectNotFoundException("Operation not found with id: 99")));
+
+        webTestClient.get().uri("/history/99")
+                .header("Authorization", authorizationHeader)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Operation not found with id: 99");
+    }
+
+    @Test
+    void deleteOperationById_NoContent() {
+        when(operationHistoryService.deleteOperationById(1L, "valid-token")).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/history/1")
+                .header("Authorization", authorizationHeader)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void getHistory_MissingAuthorizationHeader_BadRequest() {
+        webTestClient.get().uri("/history/cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
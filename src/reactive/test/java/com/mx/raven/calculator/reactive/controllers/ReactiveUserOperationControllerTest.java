@@ -0,0 +1,124 @@
+package com.mx.raven.calculator.reactive.controllers;
+
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.exceptions.ReactiveExceptionHandler;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserOperationEventRepository;
+import com.mx.raven.calculator.reactive.service.impl.ReactiveUserOperationServiceImpl;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Controller and real service over WebFlux, with only the repositories and the token mocked, so the shared
+ * {@link UserOperationCalculator} runs as it does in the servlet stack.
+ */
+class ReactiveUserOperationControllerTest {
+
+    @Mock
+    private ReactiveUserOperationEventRepository repository;
+
+    @Mock
+    private ReactiveUserEventRepository userEventRepository;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    private WebTestClient webTestClient;
+
+    private final String authorizationHeader = "Bearer valid-token";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var calculator = new UserOperationCalculator(new UserOperationSaveValidator(), 1, RoundingMode.HALF_UP, 30);
+        var service = new ReactiveUserOperationServiceImpl(calculator, repository, jwtTokenUtil, userEventRepository,
+                new ExpressionEngine(100, 34, 500));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 3);
+
+        webTestClient = WebTestClient.bindToController(new ReactiveUserOperationController(service, jwtTokenUtil))
+                .controllerAdvice(new ReactiveExceptionHandler())
+                .build();
+        when(jwtTokenUtil.validateAuthorizationHeader(authorizationHeader)).thenReturn("valid-token");
+        when(jwtTokenUtil.getUserIdFromToken("valid-token")).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void calculate_Success() {
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            UserOperationDTO dto = invocation.getArgument(0);
+            dto.setId(10L);
+            return Mono.just(dto);
+        });
+
+        webTestClient.post().uri("/calculate?operation=DIVIDE&operandA=1&operandB=3&scale=2")
+                .header("Authorization", authorizationHeader)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(10)
+                .jsonPath("$.result").isEqualTo(0.33)
+                .jsonPath("$.userId").isEqualTo(1);
+    }
+
+    @Test
+    void calculate_DivisionByZero_BadRequest() {
+        webTestClient.post().uri("/calculate?operation=divide&operandA=1&operandB=0")
+                .header("Authorization", authorizationHeader)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Division by zero is not allowed");
+
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculateBatch_MixedOperations_ReportsErrorsPerItem() {
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            long id = 1;
+            for (var dto : dtos)
+                dto.setId(id++);
+            return Flux.fromIterable(dtos);
+        });
+
+        webTestClient.post().uri("/calculate/batch")
+                .header("Authorization", authorizationHeader)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [{"operation":"add","operandA":10,"operandB":5},
+                         {"operation":"power","operandA":2,"operandB":3},
+                         {"operation":"sqrt","operandA":16,"operandB":0}]""")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].operation.id").isEqualTo(1)
+                .jsonPath("$[0].operation.result").isEqualTo(15.0)
+                .jsonPath("$[1].operation").doesNotExist()
+                .jsonPath("$[1].error").isEqualTo("Invalid operation: power")
+                .jsonPath("$[2].operation.id").isEqualTo(2)
+                .jsonPath("$[2].operation.result").isEqualTo(4.0);
+    }
+}
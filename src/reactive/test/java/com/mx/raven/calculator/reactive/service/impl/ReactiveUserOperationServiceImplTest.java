@@ -0,0 +1,155 @@
+package com.mx.raven.calculator.reactive.service.impl;
+
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserEventRepository;
+import com.mx.raven.calculator.reactive.persistence.repositories.ReactiveUserOperationEventRepository;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserOperationServiceImplTest {
+
+    @Mock
+    private ReactiveUserOperationEventRepository repository;
+
+    @Mock
+    private ReactiveUserEventRepository userEventRepository;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    private ReactiveUserOperationServiceImpl service;
+
+    private final String token = "valid-token";
+
+    @BeforeEach
+    void setUp() {
+        var calculator = new UserOperationCalculator(new UserOperationSaveValidator(), 1, RoundingMode.HALF_UP, 30);
+        service = new ReactiveUserOperationServiceImpl(calculator, repository, jwtTokenUtil, userEventRepository,
+                new ExpressionEngine(100, 34, 500));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 3);
+    }
+
+    @Test
+    void calculate_SavesOperation() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            UserOperationDTO dto = invocation.getArgument(0);
+            dto.setId(10L);
+            return Mono.just(dto);
+        });
+
+        StepVerifier.create(service.calculate("divide", BigDecimal.ONE, new BigDecimal("3"), 2, null, token))
+                .assertNext(result -> {
+                    assertEquals(10L, result.getId());
+                    assertEquals(new BigDecimal("0.33"), result.getResult());
+                    assertEquals(1L, result.getUserId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void calculate_InvalidOperation_ErrorAndNothingSaved() {
+        StepVerifier.create(service.calculate("power", BigDecimal.ONE, BigDecimal.ONE, null, null, token))
+                .expectErrorMatches(e -> e instanceof InvalidObjectException &&
+                        e.getMessage().equals("Invalid operation: power"))
+                .verify();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void calculate_InvalidScale_Error() {
+        StepVerifier.create(service.calculate("add", BigDecimal.ONE, BigDecimal.ONE, 31, null, token))
+                .expectErrorMessage("Scale must be between 0 and 30")
+                .verify();
+    }
+
+    @Test
+    void calculate_TokenWithoutUserId_LooksUpUser() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.empty());
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("ghost");
+        when(userEventRepository.findByUsername("ghost")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.calculate("add", BigDecimal.ONE, BigDecimal.ONE, null, null, token))
+                .expectError(UsernameNotFoundException.class)
+                .verify();
+
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculateBatch_ReportsInvalidOperationsAndSavesTheRest() {
+        var valid = new UserOperationDTO(null, "add", BigDecimal.ONE, BigDecimal.ONE, null, null, null, null);
+        var invalid = new UserOperationDTO(null, "divide", BigDecimal.ONE, BigDecimal.ZERO, null, null, null, null);
+
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            dtos.getFirst().setId(20L);
+            return Flux.fromIterable(dtos);
+        });
+
+        StepVerifier.create(service.calculateBatch(List.of(valid, invalid), null, null, token))
+                .assertNext(results -> {
+                    assertEquals(2, results.size());
+                    assertEquals(20L, results.get(0).getOperation().getId());
+                    assertNull(results.get(0).getError());
+                    assertNull(results.get(1).getOperation());
+                    assertEquals("Division by zero is not allowed", results.get(1).getError());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void calculateExpression_ResultTooLarge() {
+        StepVerifier.create(service.calculateExpression("10 ^ 40", Map.of(), token))
+                .expectErrorMessage("Expression result is too large to be stored")
+                .verify();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void calculateExpression_UserFromUsername() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.empty());
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("john");
+        when(userEventRepository.findByUsername("john"))
+                .thenReturn(Mono.just(new UserDTO(5L, "john", "hash", "john@example.com", null)));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(service.calculateExpression("a * 2", Map.of("a", new BigDecimal("4")), token))
+                .assertNext(result -> {
+                    assertEquals("expression", result.getOperation());
+                    assertEquals(0, new BigDecimal("8").compareTo(result.getResult()));
+                    assertEquals(5L, result.getUserId());
+                })
+                .verifyComplete();
+    }
+}
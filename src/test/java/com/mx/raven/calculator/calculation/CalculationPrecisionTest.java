@@ -0,0 +1,36 @@
+package com.mx.raven.calculator.calculation;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import org.junit.jupiter.api.Test;
+
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationPrecisionTest {
+
+    @Test
+    void resolve_MissingValues_UseDefaults() {
+        var precision = CalculationPrecision.resolve(null, null, CalculationPrecision.DEFAULT, 30);
+
+        assertEquals(CalculationPrecision.DEFAULT, precision);
+    }
+
+    @Test
+    void resolve_MaxScaleAboveColumnScale_IsCapped() {
+        assertEquals(30, CalculationPrecision.resolve(30, RoundingMode.DOWN, CalculationPrecision.DEFAULT, 40).scale());
+
+        Exception exception = assertThrows(InvalidObjectException.class,
+                () -> CalculationPrecision.resolve(31, null, CalculationPrecision.DEFAULT, 40));
+
+        assertEquals("Scale must be between 0 and 30", exception.getMessage());
+    }
+
+    @Test
+    void resolve_ScaleAboveConfiguredMax_IsRejected() {
+        Exception exception = assertThrows(InvalidObjectException.class,
+                () -> CalculationPrecision.resolve(11, null, CalculationPrecision.DEFAULT, 10));
+
+        assertEquals("Scale must be between 0 and 10", exception.getMessage());
+    }
+}
@@ -0,0 +1,91 @@
+package com.mx.raven.calculator.calculation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationCalculatorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "ADD, 10, 5, 15.0",
+        "SUBTRACT, 5, 10, -5.0",
+        "MULTIPLY, -1000000, 1000000, -1000000000000.0",
+        "DIVIDE, 10, 4, 2.5",
+        "DIVIDE, 1, 20, 0.1",
+        "DIVIDE, -1, 20, -0.1",
+        "DIVIDE, 1, -3, -0.3",
+        "DIVIDE, 2, 3, 0.7",
+        "SQRT, 25, 0, 5.0"
+    })
+    void calculate_ScaleOneHalfUp(OperationType operation, String operandA, String operandB, String expected) {
+        var result = OperationCalculator.calculate(operation, new BigDecimal(operandA), new BigDecimal(operandB));
+
+        assertEquals(new BigDecimal(expected), result);
+    }
+
+    @Test
+    void calculate_NonIntegralOperands() {
+        assertEquals(new BigDecimal("15.8"),
+                OperationCalculator.calculate(OperationType.ADD, new BigDecimal("10.25"), new BigDecimal("5.5")));
+        assertEquals(new BigDecimal("15.0"),
+                OperationCalculator.calculate(OperationType.ADD, new BigDecimal("10.0"), new BigDecimal("5")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "2, 30, HALF_UP, 1.414213562373095048801688724210",
+        "2, 5, DOWN, 1.41421",
+        "2, 5, UP, 1.41422",
+        "0.0004, 3, HALF_UP, 0.020",
+        "1000000, 2, HALF_EVEN, 1000.00",
+        "0, 4, HALF_UP, 0.0000"
+    })
+    void sqrt_CorrectlyRounded(String value, int scale, RoundingMode roundingMode, String expected) {
+        assertEquals(new BigDecimal(expected), OperationCalculator.sqrt(new BigDecimal(value), scale, roundingMode));
+    }
+
+    @Test
+    void sqrt_InexactRootNeverRoundsTheWrongWay() {
+        var random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            var value = BigDecimal.valueOf(random.nextInt(1_000_000) + 1, random.nextInt(4));
+            int scale = random.nextInt(10);
+
+            var down = OperationCalculator.sqrt(value, scale, RoundingMode.DOWN);
+            var up = OperationCalculator.sqrt(value, scale, RoundingMode.UP);
+            var ulp = BigDecimal.ONE.movePointLeft(scale);
+
+            assertTrue(down.multiply(down).compareTo(value) <= 0, value::toString);
+            assertTrue(down.add(ulp).multiply(down.add(ulp)).compareTo(value) > 0, value::toString);
+            assertTrue(up.subtract(down).compareTo(ulp) <= 0, value::toString);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "DIVIDE, 1, 3, 5, HALF_UP, 0.33333",
+        "DIVIDE, 2, 3, 0, DOWN, 0",
+        "DIVIDE, -1, 8, 2, HALF_EVEN, -0.12",
+        "MULTIPLY, 7, 3, 3, HALF_UP, 21.000"
+    })
+    void calculate_CustomPrecision(OperationType operation, String operandA, String operandB, int scale,
+                                   RoundingMode roundingMode, String expected) {
+        var result = OperationCalculator.calculate(operation, new BigDecimal(operandA), new BigDecimal(operandB),
+                new CalculationPrecision(scale, roundingMode));
+
+        assertEquals(new BigDecimal(expected), result);
+    }
+
+    @Test
+    void calculate_DivideByZero_ThrowsArithmeticException() {
+        assertThrows(ArithmeticException.class,
+                () -> OperationCalculator.calculate(OperationType.DIVIDE, BigDecimal.TEN, BigDecimal.ZERO));
+    }
+}
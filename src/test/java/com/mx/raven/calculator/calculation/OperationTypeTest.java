@@ -0,0 +1,38 @@
+package com.mx.raven.calculator.calculation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationTypeTest {
+
+    @Test
+    void lookup_EveryKey_ReturnsItsType() {
+        for (var type : OperationType.values()) {
+            assertSame(type, OperationType.lookup(type.key()));
+        }
+    }
+
+    @Test
+    void lookup_IgnoresAsciiCase() {
+        assertSame(OperationType.ADD, OperationType.lookup("ADD"));
+        assertSame(OperationType.DIVIDE, OperationType.lookup("Divide"));
+        assertSame(OperationType.SQRT, OperationType.lookup("sQrT"));
+        assertSame(OperationType.SUBTRACT, OperationType.lookup("SUBTRACT"));
+        assertSame(OperationType.MULTIPLY, OperationType.lookup("mUlTiPlY"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ad", "adds", "sqr", "multiplx", "subtracT ", " add", "divide!", "ſqrt", "modulo",
+            "squareroot"})
+    void lookup_UnknownName_ReturnsNull(String name) {
+        assertNull(OperationType.lookup(name));
+    }
+
+    @Test
+    void lookup_Null_ReturnsNull() {
+        assertNull(OperationType.lookup(null));
+    }
+}
@@ -0,0 +1,99 @@
+package com.mx.raven.calculator.controllers;
+
+import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.UserOperationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ExpressionControllerTest {
+
+    @Mock
+    private UserOperationService userOperationService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    @InjectMocks
+    private ExpressionController expressionController;
+
+    private MockMvc mockMvc;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(expressionController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        token = "Bearer valid-token";
+    }
+
+    @Test
+    void evaluate_Success() throws Exception {
+        var operation = new UserOperationDTO();
+        operation.setId(1L);
+        operation.setOperation("expression");
+        operation.setExpression("(a + b) * 2");
+        operation.setResult(BigDecimal.valueOf(6));
+        operation.setTimestamp(LocalDateTime.now());
+        operation.setUserId(1L);
+
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(userOperationService.calculateExpression(eq("(a + b) * 2"),
+                eq(Map.of("a", BigDecimal.ONE, "b", BigDecimal.valueOf(2))), eq("valid-token")))
+                .thenReturn(operation);
+
+        mockMvc.perform(post("/calculate/expression")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expression\":\"(a + b) * 2\",\"variables\":{\"a\":1,\"b\":2}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.operation", is("expression")))
+                .andExpect(jsonPath("$.expression", is("(a + b) * 2")))
+                .andExpect(jsonPath("$.result", is(6)));
+    }
+
+    @Test
+    void evaluate_InvalidExpression() throws Exception {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(userOperationService.calculateExpression(eq("1 +"), anyMap(), eq("valid-token")))
+                .thenThrow(new InvalidObjectException("Expected a number, variable or '(' but found end of expression at position 3"));
+
+        mockMvc.perform(post("/calculate/expression")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expression\":\"1 +\",\"variables\":{}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void evaluate_MissingAuthorizationHeader() throws Exception {
+        mockMvc.perform(post("/calculate/expression")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expression\":\"1 + 1\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
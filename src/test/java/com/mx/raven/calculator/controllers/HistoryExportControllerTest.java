@@ -0,0 +1,149 @@
+package com.mx.raven.calculator.controllers;
+
+import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.OperationHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class HistoryExportControllerTest {
+
+    @Mock
+    private OperationHistoryService operationHistoryService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    private MockMvc mockMvc;
+
+    private final String token = "Bearer valid-token";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var controller = new HistoryExportController(operationHistoryService, jwtTokenUtil,
+                Jackson2ObjectMapperBuilder.json().build());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportHistory_Csv_QuotesExpressions() throws Exception {
+        mockExport(List.of(
+                operation(2L, "add", "1.50", "2", "3.50", null),
+                operation(1L, "expression", null, null, "7", "max(1, 2) + \"x\"")));
+
+        String response = mockMvc.perform(get("/history/export")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"history.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        var lines = response.lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("id,userId,operation,operandA,operandB,result,timestamp,expression", lines.get(0));
+        assertEquals("2,1,add,1.50,2,3.50,2025-01-02T10:15,", lines.get(1));
+        assertEquals("1,1,expression,,,7,2025-01-02T10:15,\"max(1, 2) + \"\"x\"\"\"", lines.get(2));
+    }
+
+    @Test
+    void exportHistory_Ndjson_WritesOneOperationPerLine() throws Exception {
+        mockExport(List.of(
+                operation(2L, "add", "1", "2", "3", null),
+                operation(1L, "divide", "1", "4", "0.25", null)));
+
+        String response = mockMvc.perform(get("/history/export")
+                        .param("format", "ndjson")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(OperationStreamController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        var lines = response.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":2") && lines.get(0).contains("\"result\":3"));
+        assertTrue(lines.get(1).contains("\"id\":1") && lines.get(1).contains("\"result\":0.25"));
+    }
+
+    @Test
+    void exportHistory_Gzip_CompressesBody() throws Exception {
+        mockExport(List.of(operation(1L, "add", "1", "2", "3", null)));
+
+        byte[] body = mockMvc.perform(get("/history/export")
+                        .param("gzip", "true")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(csv.startsWith("id,userId,"));
+        assertTrue(csv.contains("1,1,add,1,2,3,"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportHistory_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/history/export")
+                        .param("format", "xml")
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        verify(operationHistoryService, never()).exportOperations(any(), any(), any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    void exportHistory_MissingAuthorizationHeader() throws Exception {
+        mockMvc.perform(get("/history/export"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockExport(List<UserOperationDTO> operations) {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(operationHistoryService.exportOperations(eq(Optional.empty()), eq(Optional.empty()), eq(Optional.empty()),
+                eq("valid-token"), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Consumer<UserOperationDTO> consumer = invocation.getArgument(4);
+                    operations.forEach(consumer);
+                    return (long) operations.size();
+                });
+    }
+
+    private static UserOperationDTO operation(Long id, String type, String operandA, String operandB, String result,
+                                              String expression) {
+        return new UserOperationDTO(id, type,
+                operandA == null ? null : new BigDecimal(operandA),
+                operandB == null ? null : new BigDecimal(operandB),
+                new BigDecimal(result), LocalDateTime.of(2025, 1, 2, 10, 15), 1L, expression);
+    }
+}
@@ -2,6 +2,7 @@ package com.mx.raven.calculator.controllers;
 
 import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
 import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.security.JwtTokenUtil;
 import com.mx.raven.calculator.service.OperationHistoryService;
@@ -171,6 +172,29 @@ class OperationHistoryControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void getHistoryByCursor_Success() throws Exception {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(operationHistoryService.getOperationsByCursor(
+                any(Optional.class),
+                any(Optional.class),
+                any(Optional.class),
+                eq(Optional.of("abc")),
+                eq(1),
+                eq("valid-token")
+        )).thenReturn(new CursorPageDTO<>(List.of(userOperationDTO), 1, true, "next"));
+
+        mockMvc.perform(get("/history/cursor")
+                .header("Authorization", token)
+                .param("cursor", "abc")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
     @Test
     void getOperationById_Success() throws Exception {
         when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
@@ -0,0 +1,110 @@
+package com.mx.raven.calculator.controllers;
+
+import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.security.JwtTokenUtil;
+import com.mx.raven.calculator.service.UserOperationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OperationStreamControllerTest {
+
+    @Mock
+    private UserOperationService userOperationService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    private MockMvc mockMvc;
+
+    private final String token = "Bearer valid-token";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var controller = new OperationStreamController(userOperationService, jwtTokenUtil,
+                Jackson2ObjectMapperBuilder.json().build());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void calculateStream_ParsesLinesAndWritesOneResultPerLine() throws Exception {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        List<Object> parsed = new ArrayList<>();
+        when(userOperationService.calculateStream(any(Iterator.class), isNull(), isNull(), eq("valid-token"), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Iterator<UserOperationDTO> operations = invocation.getArgument(0);
+                    Consumer<List<BatchOperationResultDTO>> consumer = invocation.getArgument(4);
+                    List<BatchOperationResultDTO> chunk = new ArrayList<>();
+                    int index = 0;
+                    while (operations.hasNext()) {
+                        int i = index++;
+                        try {
+                            var dto = operations.next();
+                            parsed.add(dto);
+                            dto.setResult(dto.getOperandA().add(dto.getOperandB()));
+                            chunk.add(new BatchOperationResultDTO(i, dto, null));
+                        } catch (InvalidObjectException e) {
+                            parsed.add(e);
+                            chunk.add(new BatchOperationResultDTO(i, null, e.getMessage()));
+                        }
+                    }
+                    consumer.accept(chunk);
+                    return index;
+                });
+
+        String body = """
+                {"operation":"add","operandA":1,"operandB":2}
+
+                not json
+                {"operation":"add","operandA":3,"operandB":4}
+                """;
+
+        String response = mockMvc.perform(post("/calculate/stream")
+                        .header("Authorization", token)
+                        .contentType(OperationStreamController.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(OperationStreamController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = response.lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"index\":0") && lines.get(0).contains("\"result\":3"));
+        assertTrue(lines.get(1).contains("\"index\":1") && lines.get(1).contains("Malformed JSON"));
+        assertTrue(lines.get(2).contains("\"index\":2") && lines.get(2).contains("\"result\":7"));
+        assertEquals(new BigDecimal("3"), ((UserOperationDTO) parsed.get(2)).getOperandA());
+    }
+
+    @Test
+    void calculateStream_MissingAuthorizationHeader() throws Exception {
+        mockMvc.perform(post("/calculate/stream")
+                        .contentType(OperationStreamController.APPLICATION_NDJSON)
+                        .content("{\"operation\":\"add\",\"operandA\":1,\"operandB\":2}\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
 import com.mx.raven.calculator.model.AuthenticationRequest;
 import com.mx.raven.calculator.model.AuthenticationResponse;
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO;
 import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.service.AsyncRegistrationService;
 import com.mx.raven.calculator.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,9 +20,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +33,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AsyncRegistrationService asyncRegistrationService;
+
     @InjectMocks
     private UserController userController;
 
@@ -105,4 +114,50 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(authRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void registerUserAsync_Accepted() throws Exception {
+        var pending = new RegistrationStatusDTO("reg-1", RegistrationStatusDTO.Status.PENDING, null, null, null, null);
+        when(asyncRegistrationService.submit(any(UserDTO.class))).thenReturn(pending);
+
+        mockMvc.perform(post("/auth/register/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/auth/register/reg-1")))
+                .andExpect(jsonPath("$.id", is("reg-1")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    void registerUserAsync_QueueFull() throws Exception {
+        when(asyncRegistrationService.submit(any(UserDTO.class)))
+                .thenThrow(new ServiceUnavailableException("Too many registrations in progress, please try again later"));
+
+        mockMvc.perform(post("/auth/register/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void getRegistrationStatus_Completed() throws Exception {
+        var completed = new RegistrationStatusDTO("reg-1", RegistrationStatusDTO.Status.COMPLETED, userDTO, null, null, null);
+        when(asyncRegistrationService.getStatus("reg-1")).thenReturn(completed);
+
+        mockMvc.perform(get("/auth/register/reg-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.user.username", is("testuser")));
+    }
+
+    @Test
+    void getRegistrationStatus_Unknown() throws Exception {
+        when(asyncRegistrationService.getStatus("missing"))
+                .thenThrow(new ObjectNotFoundException("Registration not found or expired: missing"));
+
+        mockMvc.perform(get("/auth/register/missing"))
+                .andExpect(status().isNotFound());
+    }
 }
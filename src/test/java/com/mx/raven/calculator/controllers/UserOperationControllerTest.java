@@ -2,6 +2,7 @@ package com.mx.raven.calculator.controllers;
 
 import com.mx.raven.calculator.exceptions.GlobalExceptionHandler;
 import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.security.JwtTokenUtil;
 import com.mx.raven.calculator.service.UserOperationService;
@@ -16,10 +17,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -66,6 +72,8 @@ class UserOperationControllerTest {
                 eq("add"), 
                 eq(BigDecimal.valueOf(10)), 
                 eq(BigDecimal.valueOf(5)), 
+                isNull(),
+                isNull(),
                 eq("valid-token")
         )).thenReturn(userOperationDTO);
 
@@ -82,6 +90,32 @@ class UserOperationControllerTest {
                 .andExpect(jsonPath("$.result", is(15)));
     }
 
+    @Test
+    void calculate_WithScaleAndRoundingMode() throws Exception {
+        userOperationDTO.setOperation("divide");
+        userOperationDTO.setResult(new BigDecimal("3.333"));
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(userOperationService.calculate(
+                eq("divide"),
+                eq(BigDecimal.valueOf(10)),
+                eq(BigDecimal.valueOf(3)),
+                eq(3),
+                eq(RoundingMode.DOWN),
+                eq("valid-token")
+        )).thenReturn(userOperationDTO);
+
+        mockMvc.perform(post("/calculate")
+                .param("operation", "divide")
+                .param("operandA", "10")
+                .param("operandB", "3")
+                .param("scale", "3")
+                .param("roundingMode", "DOWN")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result", is(3.333)));
+    }
+
     @Test
     void calculate_InvalidOperation() throws Exception {
         when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
@@ -89,6 +123,8 @@ class UserOperationControllerTest {
                 eq("invalid"), 
                 eq(BigDecimal.valueOf(10)), 
                 eq(BigDecimal.valueOf(5)), 
+                isNull(),
+                isNull(),
                 eq("valid-token")
         )).thenThrow(new InvalidObjectException("Invalid operation: invalid"));
 
@@ -108,6 +144,8 @@ class UserOperationControllerTest {
                 eq("add"), 
                 eq(BigDecimal.valueOf(10)), 
                 eq(BigDecimal.valueOf(5)), 
+                isNull(),
+                isNull(),
                 eq("valid-token")
         )).thenThrow(new UsernameNotFoundException("User not found"));
 
@@ -129,4 +167,38 @@ class UserOperationControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void calculateBatch_Success() throws Exception {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(userOperationService.calculateBatch(anyList(), isNull(), isNull(), eq("valid-token"))).thenReturn(List.of(
+                new BatchOperationResultDTO(0, userOperationDTO, null),
+                new BatchOperationResultDTO(1, null, "Invalid operation: invalid")
+        ));
+
+        mockMvc.perform(post("/calculate/batch")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"operation\":\"add\",\"operandA\":10,\"operandB\":5}," +
+                        "{\"operation\":\"invalid\",\"operandA\":10,\"operandB\":5}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].operation.result", is(15)))
+                .andExpect(jsonPath("$[0].error", nullValue()))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is("Invalid operation: invalid")));
+    }
+
+    @Test
+    void calculateBatch_EmptyBatch() throws Exception {
+        when(jwtTokenUtil.validateAuthorizationHeader(token)).thenReturn("valid-token");
+        when(userOperationService.calculateBatch(anyList(), isNull(), isNull(), eq("valid-token")))
+                .thenThrow(new InvalidObjectException("Batch cannot be null or empty"));
+
+        mockMvc.perform(post("/calculate/batch")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
 }
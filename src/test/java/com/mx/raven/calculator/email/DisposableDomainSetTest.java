@@ -0,0 +1,57 @@
+package com.mx.raven.calculator.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisposableDomainSetTest {
+
+    @Test
+    void load_SkipsCommentsBlankLinesAndDuplicates() throws IOException {
+        String list = """
+                # comentario
+                mailinator.com
+
+                  YOPMAIL.com \s
+                mailinator.com
+                """;
+
+        var domains = DisposableDomainSet.load(new ByteArrayInputStream(list.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, domains.size());
+        assertTrue(domains.contains("mailinator.com"));
+        assertTrue(domains.contains("yopmail.com"));
+    }
+
+    @Test
+    void contains_MatchesSubdomainsOfListedDomain() {
+        var domains = DisposableDomainSet.of("mailinator.com");
+
+        assertTrue(domains.contains("mx.mailinator.com"));
+        assertTrue(domains.contains("a.b.mailinator.com"));
+    }
+
+    @Test
+    void contains_DoesNotMatchSuffixOrTopLevelDomain() {
+        var domains = DisposableDomainSet.of("mailinator.com");
+
+        assertFalse(domains.contains("notmailinator.com"));
+        assertFalse(domains.contains("mailinator.com.mx"));
+        assertFalse(domains.contains("com"));
+        assertFalse(domains.contains("example.com"));
+    }
+
+    @Test
+    void load_DefaultListIsAvailable() throws IOException {
+        try (var input = getClass().getResourceAsStream("/disposable-domains.txt")) {
+            assertNotNull(input);
+            var domains = DisposableDomainSet.load(input);
+            assertTrue(domains.contains("guerrillamail.com"));
+            assertFalse(domains.contains("gmail.com"));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mx.raven.calculator.expression;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionEngineTest {
+
+    private ExpressionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ExpressionEngine(2, 34, 100);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "1 + 2 * 3; 7",
+        "(1 + 2) * 3; 9",
+        "10 - 4 - 3; 3",
+        "2 ^ 3 ^ 2; 512",
+        "-2 ^ 2; -4",
+        "7 % 4; 3",
+        "1 / 4; 0.25",
+        "sqrt(16) + abs(-3); 7",
+        "max(1, 5, 3) - min(4, 2); 3",
+        "1.5e2 + .5; 150.5"
+    })
+    void evaluate_Literals(String expression, String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(engine.evaluate(expression, Map.of())));
+    }
+
+    @Test
+    void evaluate_WithVariables() {
+        var result = engine.evaluate("(a + b) * sqrt(c) / 2", Map.of(
+                "a", new BigDecimal("1"),
+                "b", new BigDecimal("3"),
+                "c", new BigDecimal("9")));
+
+        assertEquals(0, new BigDecimal("6").compareTo(result));
+    }
+
+    @Test
+    void evaluate_UppercaseFunction_IndependentOfDefaultLocale() {
+        var defaultLocale = Locale.getDefault();
+        //En turco "MIN".toLowerCase() es "mın", con i sin punto
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(0, new BigDecimal("2").compareTo(engine.evaluate("MIN(4, 2)", Map.of())));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void evaluate_RoundsWithMathContext() {
+        var result = engine.evaluate("1 / 3", Map.of());
+
+        assertEquals(34, result.precision());
+    }
+
+    @Test
+    void evaluate_SameExpression_ReusesCompiledTree() {
+        var first = engine.compile("a * 2");
+        engine.evaluate("a * 2", Map.of("a", BigDecimal.ONE));
+
+        assertSame(first, engine.compile("a * 2"));
+        assertEquals(1, engine.cacheSize());
+    }
+
+    @Test
+    void evaluate_CacheIsBounded() {
+        for (int i = 0; i < 10; i++)
+            engine.evaluate(i + " + 1", Map.of());
+
+        assertTrue(engine.cacheSize() <= 2);
+    }
+
+    @Test
+    void evaluate_InvalidExpression_IsNotCached() {
+        assertThrows(InvalidObjectException.class, () -> engine.evaluate("1 +", Map.of()));
+
+        assertEquals(0, engine.cacheSize());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "1 +",
+        "(1 + 2",
+        "1 2",
+        "2 $ 3",
+        "foo(1)",
+        "sqrt(1, 2)",
+        "min(1)",
+        "1 / 0",
+        "5 % 0",
+        "sqrt(-1)",
+        "2 ^ 0.5",
+        "2 ^ 10000",
+        "1e66",
+        "1E+66",
+        "x + 1"
+    })
+    void evaluate_Invalid_ThrowsInvalidObjectException(String expression) {
+        assertThrows(InvalidObjectException.class, () -> engine.evaluate(expression, Map.of()));
+    }
+
+    @Test
+    void evaluate_BlankOrTooLong_ThrowsInvalidObjectException() {
+        assertThrows(InvalidObjectException.class, () -> engine.evaluate(" ", Map.of()));
+        assertThrows(InvalidObjectException.class, () -> engine.evaluate("1+".repeat(60) + "1", Map.of()));
+    }
+
+    @Test
+    void evaluate_DeeplyNested_ThrowsInvalidObjectException() {
+        var longEngine = new ExpressionEngine(2, 34, 1000);
+        var expression = "(".repeat(200) + "1" + ")".repeat(200);
+
+        assertThrows(InvalidObjectException.class, () -> longEngine.evaluate(expression, Map.of()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "1e-20000000; Exponent of number at position 0 cannot be greater than 65",
+        "0.5 ^ 60000000; Exponent must be an integer between -9999 and 9999"
+    })
+    @Timeout(1)
+    void evaluate_TinyResult_RejectedWithoutBuildingIt(String expression, String message) {
+        var exception = assertThrows(InvalidObjectException.class, () -> engine.evaluate(expression, Map.of()));
+
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    void evaluate_LargestExponents_Accepted() {
+        assertEquals(0, BigDecimal.ONE.compareTo(engine.evaluate("1e65 * 1e-65", Map.of())));
+        assertEquals(0, BigDecimal.ONE.compareTo(engine.evaluate("1 ^ 9999", Map.of())));
+    }
+}
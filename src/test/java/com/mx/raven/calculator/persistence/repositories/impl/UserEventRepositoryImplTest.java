@@ -0,0 +1,123 @@
+package com.mx.raven.calculator.persistence.repositories.impl;
+
+import com.mx.raven.calculator.mappers.UsersMapperService;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.persistence.entities.User;
+import com.mx.raven.calculator.persistence.stores.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventRepositoryImplTest {
+
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private UsersMapperService mapper;
+
+    private UserEventRepositoryImpl userEventRepository;
+
+    private User user;
+    private UserDTO userDTO;
+
+    @BeforeEach
+    void setUp() {
+        userEventRepository = new UserEventRepositoryImpl(userStore, mapper, 100, 600000);
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        user = new User(1L, "testuser", "encoded", "test@example.com", createdAt);
+        userDTO = new UserDTO(1L, "testuser", "encoded", "test@example.com", createdAt);
+    }
+
+    @Test
+    void findByUsername_SecondCall_UsesCache() {
+        when(userStore.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(mapper.userToUserDTO(user)).thenReturn(userDTO);
+
+        Optional<UserDTO> first = userEventRepository.findByUsername("testuser");
+        Optional<UserDTO> second = userEventRepository.findByUsername("testuser");
+
+        assertEquals(first, second);
+        assertEquals(1L, second.orElseThrow().getId());
+        verify(userStore, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void findByUsername_ReturnsCopies() {
+        when(userStore.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(mapper.userToUserDTO(user)).thenReturn(userDTO);
+
+        userEventRepository.findByUsername("testuser").orElseThrow().setPassword(null);
+
+        assertEquals("encoded", userEventRepository.findByUsername("testuser").orElseThrow().getPassword());
+    }
+
+    @Test
+    void findByUsername_NotFound_IsNotCached() {
+        when(userStore.findByUsername("testuser")).thenReturn(Optional.empty());
+
+        assertTrue(userEventRepository.findByUsername("testuser").isEmpty());
+        assertTrue(userEventRepository.findByUsername("testuser").isEmpty());
+
+        verify(userStore, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void storeSaveUser_EvictsCachedUser() {
+        when(userStore.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(mapper.userToUserDTO(user)).thenReturn(userDTO);
+        when(mapper.userDTOToUser(any(UserDTO.class))).thenReturn(user);
+        when(userStore.save(user)).thenReturn(user);
+
+        userEventRepository.findByUsername("testuser");
+        userEventRepository.storeSaveUser(userDTO);
+        userEventRepository.findByUsername("testuser");
+
+        verify(userStore, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void findByUsername_SaveDuringRead_DoesNotCacheStaleUser() {
+        var updated = new User(1L, "testuser", "newEncoded", "test@example.com", user.getCreatedAt());
+        var updatedDTO = new UserDTO(1L, "testuser", "newEncoded", "test@example.com", user.getCreatedAt());
+        when(mapper.userDTOToUser(any(UserDTO.class))).thenReturn(updated);
+        when(userStore.save(updated)).thenReturn(updated);
+        when(mapper.userToUserDTO(user)).thenReturn(userDTO);
+        when(mapper.userToUserDTO(updated)).thenReturn(updatedDTO);
+        //La primera lectura obtiene la fila antigua y un guardado concurrente termina antes de que se cachee
+        when(userStore.findByUsername("testuser"))
+                .thenAnswer(invocation -> {
+                    userEventRepository.storeSaveUser(updatedDTO);
+                    return Optional.of(user);
+                })
+                .thenReturn(Optional.of(updated));
+
+        assertEquals("encoded", userEventRepository.findByUsername("testuser").orElseThrow().getPassword());
+
+        assertEquals("newEncoded", userEventRepository.findByUsername("testuser").orElseThrow().getPassword());
+        verify(userStore, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void evictUser_NextCallQueriesStore() {
+        when(userStore.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(mapper.userToUserDTO(user)).thenReturn(userDTO);
+
+        userEventRepository.findByUsername("testuser");
+        userEventRepository.evictUser("testuser");
+        userEventRepository.findByUsername("testuser");
+
+        verify(userStore, times(2)).findByUsername("testuser");
+    }
+}
@@ -0,0 +1,203 @@
+package com.mx.raven.calculator.persistence.writebehind;
+
+import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserOperationWriteBehindQueueTest {
+
+    @Mock
+    private UserOperationEventRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserOperationWriteBehindQueue writeBehindQueue;
+    private List<UserOperationDTO> stored;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stored = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.stop();
+        }
+    }
+
+    @Test
+    void enqueue_Disabled_StoresSynchronously() {
+        writeBehindQueue = newQueue(false, 10, 5);
+        writeBehindQueue.start();
+        var dto = operation();
+        var saved = operation();
+        saved.setId(1L);
+        when(repository.storeSaveUserOperation(dto)).thenReturn(saved);
+
+        var result = writeBehindQueue.enqueue(dto);
+
+        assertFalse(writeBehindQueue.isRunning());
+        assertEquals(1L, result.getId());
+        verify(repository, never()).storeSaveAllUserOperations(anyList());
+    }
+
+    @Test
+    void enqueue_FlushesInBatches() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(10);
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            stored.addAll(dtos);
+            dtos.forEach(dto -> latch.countDown());
+            return dtos;
+        });
+        writeBehindQueue = newQueue(true, 100, 5);
+        writeBehindQueue.start();
+
+        for (int i = 0; i < 10; i++) {
+            var result = writeBehindQueue.enqueue(operation());
+            assertNull(result.getId());
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        writeBehindQueue.stop();
+        assertEquals(10, stored.size());
+        verify(repository, atLeast(2)).storeSaveAllUserOperations(anyList());
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+        assertEquals(10.0, meterRegistry.get("calculator.history.write_behind.flushed").counter().count());
+    }
+
+    @Test
+    void enqueue_QueueFull_StoresSynchronously() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            UserOperationDTO dto = invocation.getArgument(0);
+            dto.setId(99L);
+            return dto;
+        });
+        writeBehindQueue = newQueue(true, 1, 1);
+        writeBehindQueue.start();
+
+        writeBehindQueue.enqueue(operation());
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        writeBehindQueue.enqueue(operation());
+        var overflow = writeBehindQueue.enqueue(operation());
+        release.countDown();
+
+        assertEquals(99L, overflow.getId());
+        assertEquals(1.0, meterRegistry.get("calculator.history.write_behind.overflow").counter().count());
+    }
+
+    @Test
+    void stop_DrainsPendingOperations() {
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            stored.addAll(dtos);
+            return dtos;
+        });
+        writeBehindQueue = newQueue(true, 1000, 1000);
+        writeBehindQueue.start();
+
+        for (int i = 0; i < 50; i++) {
+            writeBehindQueue.enqueue(operation());
+        }
+        writeBehindQueue.stop();
+
+        assertFalse(writeBehindQueue.isRunning());
+        assertEquals(0, writeBehindQueue.getQueueDepth());
+        assertEquals(50, stored.size());
+    }
+
+    @Test
+    void stop_WhileEnqueueing_StoresEveryOperation() throws InterruptedException {
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            stored.addAll(dtos);
+            return dtos;
+        });
+        //Solo se usa con las operaciones que llegan después de stop
+        lenient().when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        writeBehindQueue = newQueue(true, 10_000, 100);
+        writeBehindQueue.start();
+
+        int producers = 8;
+        int perProducer = 2_000;
+        CountDownLatch started = new CountDownLatch(producers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            var thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < perProducer; i++) {
+                    writeBehindQueue.enqueue(operation());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        started.await();
+        writeBehindQueue.stop();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, stored.size());
+        assertEquals(0, writeBehindQueue.getQueueDepth());
+    }
+
+    @Test
+    void flush_BatchFails_RetriesOneByOne() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        when(repository.storeSaveAllUserOperations(anyList())).thenThrow(new RuntimeException("DB error"));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            latch.countDown();
+            return invocation.getArgument(0);
+        });
+        writeBehindQueue = newQueue(true, 10, 2);
+        writeBehindQueue.start();
+
+        writeBehindQueue.enqueue(operation());
+        writeBehindQueue.enqueue(operation());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        verify(repository, times(2)).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    private UserOperationWriteBehindQueue newQueue(boolean enabled, int capacity, int flushSize) {
+        return new UserOperationWriteBehindQueue(repository, meterRegistry, enabled, capacity, flushSize,
+                50, 10, 5000);
+    }
+
+    private UserOperationDTO operation() {
+        return new UserOperationDTO(null, "add", BigDecimal.ONE, BigDecimal.ONE, new BigDecimal("2.0"),
+                LocalDateTime.now(), 1L, null);
+    }
+}
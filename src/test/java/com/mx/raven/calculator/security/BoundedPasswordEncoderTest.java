@@ -0,0 +1,98 @@
+package com.mx.raven.calculator.security;
+
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnHashingPool() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, meterRegistry);
+
+        String encoded = encoder.encode("password");
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("password", encoded));
+        assertFalse(encoder.matches("other", encoded));
+        assertNotNull(meterRegistry.find("executor.pool.size").tag("name", "password.hashing").gauge());
+        assertEquals(1, meterRegistry.get("calculator.security.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("calculator.security.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void matches_QueueFull_RejectsAndCounts() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        //Un hilo ocupado y una posición de cola
+        var first = new Thread(() -> encoder.matches("a", "a"));
+        var second = new Thread(() -> encoder.matches("b", "b"));
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        second.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() < 1
+                && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("c", "c"));
+        assertEquals(1, meterRegistry.get("calculator.security.hashing.rejected").counter().count());
+
+        release.countDown();
+        first.join();
+        second.join();
+    }
+
+    @Test
+    void encode_DelegateFailure_IsRethrown() {
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(failing, 1, 1, meterRegistry);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+    }
+}
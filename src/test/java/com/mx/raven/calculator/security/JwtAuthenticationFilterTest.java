@@ -0,0 +1,70 @@
+package com.mx.raven.calculator.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(new VerifiedClaimsCache(100, 300000), meterRegistry);
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "testSecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 3600000L);
+        filter = new JwtAuthenticationFilter(jwtTokenUtil, userDetailsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void doFilter_ValidToken_AuthenticatesAndVerifiesOnce() throws Exception {
+        UserDetails user = new User("testuser", "password", new ArrayList<>());
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(user);
+        String token = jwtTokenUtil.generateToken(user, 7L);
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        //Lo que harían el controlador y el servicio con el mismo token
+        jwtTokenUtil.validateAuthorizationHeader("Bearer " + token);
+        jwtTokenUtil.getUserIdFromToken(token);
+
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void doFilter_NoAuthorizationHeader_LeavesRequestUnauthenticated() throws Exception {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -2,26 +2,34 @@ package com.mx.raven.calculator.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.ArrayList;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtTokenUtilTest {
 
     private JwtTokenUtil jwtTokenUtil;
+    private SimpleMeterRegistry meterRegistry;
     private UserDetails userDetails;
     private String secret;
     private long expiration;
 
     @BeforeEach
     void setUp() {
-        jwtTokenUtil = new JwtTokenUtil();
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenUtil = new JwtTokenUtil(new VerifiedClaimsCache(100, 300000), meterRegistry);
         secret = "testSecretKey123456789012345678901234567890";
         expiration = 3600000;
         
@@ -31,6 +39,11 @@ class JwtTokenUtilTest {
         userDetails = new User("testuser", "password", new ArrayList<>());
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     void generateToken_Success() {
         String token = jwtTokenUtil.generateToken(userDetails);
@@ -48,6 +61,21 @@ class JwtTokenUtilTest {
         assertEquals("testuser", username);
     }
 
+    @Test
+    void getUserIdFromToken_WithUserIdClaim() {
+        String token = jwtTokenUtil.generateToken(userDetails, 42L);
+
+        assertEquals(Optional.of(42L), jwtTokenUtil.getUserIdFromToken(token));
+        assertEquals("testuser", jwtTokenUtil.getUsernameFromToken(token));
+    }
+
+    @Test
+    void getUserIdFromToken_WithoutUserIdClaim_ReturnsEmpty() {
+        String token = jwtTokenUtil.generateToken(userDetails);
+
+        assertEquals(Optional.empty(), jwtTokenUtil.getUserIdFromToken(token));
+    }
+
     @Test
     void validateToken_ValidToken_ReturnsTrue() {
         String token = jwtTokenUtil.generateToken(userDetails);
@@ -83,6 +111,65 @@ class JwtTokenUtilTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void getUsernameFromToken_TamperedToken_ThrowsException() {
+        String token = jwtTokenUtil.generateToken(userDetails);
+        jwtTokenUtil.getUsernameFromToken(token);
+
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        assertThrows(SignatureException.class, () -> jwtTokenUtil.getUsernameFromToken(tampered));
+    }
+
+    @Test
+    void getUsernameFromToken_RecordsVerificationByCacheAndOutcome() {
+        String token = jwtTokenUtil.generateToken(userDetails);
+        jwtTokenUtil.getUsernameFromToken(token);
+        jwtTokenUtil.getUsernameFromToken(token);
+        assertThrows(RuntimeException.class, () -> jwtTokenUtil.getUsernameFromToken("not-a-token"));
+
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "miss", "outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "hit", "outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "miss", "outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void validateToken_VerifiesTheTokenOnce() {
+        String token = jwtTokenUtil.generateToken(userDetails);
+
+        assertTrue(jwtTokenUtil.validateToken(token, userDetails));
+
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void getUsernameFromToken_ClaimsBoundToRequest_SkipsCache() {
+        String token = jwtTokenUtil.generateToken(userDetails, 42L);
+        String otherToken = jwtTokenUtil.generateToken(new User("otheruser", "password", new ArrayList<>()));
+        var request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        jwtTokenUtil.bindToRequest(request, token, jwtTokenUtil.getVerifiedClaims(token));
+
+        assertEquals("testuser", jwtTokenUtil.getUsernameFromToken(token));
+        assertEquals(Optional.of(42L), jwtTokenUtil.getUserIdFromToken(token));
+        assertEquals(token, jwtTokenUtil.validateAuthorizationHeader("Bearer " + token));
+        assertEquals(1, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "miss", "outcome", "valid").timer().count());
+        assertEquals(0, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "hit", "outcome", "valid").timer().count());
+
+        //Otro token en la misma petición no usa los claims ligados
+        assertEquals("otheruser", jwtTokenUtil.getUsernameFromToken(otherToken));
+        assertEquals(2, meterRegistry.get("calculator.security.jwt.verification")
+                .tags("cache", "miss", "outcome", "valid").timer().count());
+    }
+
     @Test
     void validateAuthorizationHeader_ValidHeader_ReturnsToken() {
         String token = jwtTokenUtil.generateToken(userDetails);
@@ -0,0 +1,91 @@
+package com.mx.raven.calculator.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+
+    private VerifiedClaimsCache claimsCache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        claimsCache = new VerifiedClaimsCache(100, 300000);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameToken_VerifiesOnce() {
+        Function<String, Claims> verifier = verifier(new Date(System.currentTimeMillis() + 60000));
+
+        Claims first = claimsCache.get("token", verifier);
+        Claims second = claimsCache.get("token", verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, claimsCache.size());
+    }
+
+    @Test
+    void get_DifferentTokens_VerifiesEach() {
+        Function<String, Claims> verifier = verifier(new Date(System.currentTimeMillis() + 60000));
+
+        claimsCache.get("token-a", verifier);
+        claimsCache.get("token-b", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_EntryExpiresWithToken() throws InterruptedException {
+        Function<String, Claims> verifier = verifier(new Date(System.currentTimeMillis() + 50));
+
+        claimsCache.get("token", verifier);
+        Thread.sleep(100);
+        claimsCache.get("token", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_EntryExpiresWithMaxTtl() throws InterruptedException {
+        claimsCache = new VerifiedClaimsCache(100, 50);
+        Function<String, Claims> verifier = verifier(new Date(System.currentTimeMillis() + 60000));
+
+        claimsCache.get("token", verifier);
+        Thread.sleep(100);
+        claimsCache.get("token", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_VerifierFails_NothingCached() {
+        Function<String, Claims> failing = token -> {
+            verifications.incrementAndGet();
+            throw new SignatureException("Invalid signature");
+        };
+
+        assertThrows(SignatureException.class, () -> claimsCache.get("token", failing));
+        assertThrows(SignatureException.class, () -> claimsCache.get("token", failing));
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, claimsCache.size());
+    }
+
+    private Function<String, Claims> verifier(Date expiration) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Jwts.claims().setSubject("testuser").setExpiration(expiration);
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.mx.raven.calculator.service.impl;
+
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.exceptions.ServiceUnavailableException;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO;
+import com.mx.raven.calculator.model.dto.RegistrationStatusDTO.Status;
+import com.mx.raven.calculator.model.dto.UserDTO;
+import com.mx.raven.calculator.service.UserService;
+import com.mx.raven.calculator.validation.UserSaveValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncRegistrationServiceImplTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserSaveValidator userSaveValidator;
+
+    private AsyncRegistrationServiceImpl service;
+    private UserDTO userDTO;
+
+    @BeforeEach
+    void setUp() {
+        service = new AsyncRegistrationServiceImpl(userService, userSaveValidator, new SimpleMeterRegistry(),
+                1, 1, 100, 60000, 5000, false);
+
+        userDTO = new UserDTO();
+        userDTO.setUsername("testuser");
+        userDTO.setPassword("password");
+        userDTO.setEmail("test@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void submit_RegistersInBackgroundAndReportsCompletion() throws Exception {
+        var saved = new UserDTO(1L, "testuser", null, "test@example.com", null);
+        when(userService.registerUser(any(UserDTO.class))).thenReturn(saved);
+
+        RegistrationStatusDTO pending = service.submit(userDTO);
+        assertEquals(Status.PENDING, pending.getStatus());
+        assertNotNull(pending.getId());
+
+        RegistrationStatusDTO completed = awaitFinished(pending.getId());
+        assertEquals(Status.COMPLETED, completed.getStatus());
+        assertEquals(1L, completed.getUser().getId());
+        assertNull(completed.getUser().getPassword());
+        assertNotNull(completed.getCompletedAt());
+        verify(userSaveValidator).validateFields(userDTO);
+    }
+
+    @Test
+    void submit_InvalidEmail_ReportsFailure() throws Exception {
+        when(userService.registerUser(any(UserDTO.class)))
+                .thenThrow(new InvalidObjectException("Email is invalid"));
+
+        RegistrationStatusDTO failed = awaitFinished(service.submit(userDTO).getId());
+
+        assertEquals(Status.FAILED, failed.getStatus());
+        assertEquals("Email is invalid", failed.getError());
+        assertNull(failed.getUser());
+    }
+
+    @Test
+    void submit_DuplicatedUser_ReportsFailure() throws Exception {
+        when(userService.registerUser(any(UserDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        RegistrationStatusDTO failed = awaitFinished(service.submit(userDTO).getId());
+
+        assertEquals(Status.FAILED, failed.getStatus());
+        assertEquals("Username or email already registered. Try again", failed.getError());
+    }
+
+    @Test
+    void submit_InvalidFields_ThrowsWithoutQueueing() {
+        doThrow(new InvalidObjectException("Password is required")).when(userSaveValidator).validateFields(userDTO);
+
+        assertThrows(InvalidObjectException.class, () -> service.submit(userDTO));
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsServiceUnavailable() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(userService.registerUser(any(UserDTO.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return userDTO;
+        });
+
+        //Un hilo ocupado y una posición de cola
+        service.submit(userDTO);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        service.submit(userDTO);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.submit(userDTO));
+        release.countDown();
+    }
+
+    @Test
+    void getStatus_UnknownId_ThrowsNotFound() {
+        assertThrows(ObjectNotFoundException.class, () -> service.getStatus("missing"));
+    }
+
+    private RegistrationStatusDTO awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        var status = service.getStatus(id);
+        while (status.getStatus() == Status.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.getStatus(id);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,210 @@
+package com.mx.raven.calculator.service.impl;
+
+import com.mx.raven.calculator.config.RestTemplateConfig;
+import com.mx.raven.calculator.model.EmailValidationResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real pooled RestTemplate, circuit breaker and bulkhead against a local stub of mailboxlayer.
+ */
+class EmailValidationResilienceTest {
+
+    private static final String VALID_BODY = "{\"email\":\"user@example.com\",\"domain\":\"example.com\"," +
+            "\"format_valid\":true,\"mx_found\":true,\"disposable\":false}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile Handler handler;
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/check", exchange -> {
+            hits.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                handler.handle(exchange);
+            } catch (Exception e) {
+                //El cliente ya cortó la conexión por timeout
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void healthyUpstream_ReturnsApiResponse() {
+        handler = exchange -> respond(exchange, 200, VALID_BODY);
+        var service = service(CircuitBreaker.ofDefaults("mailboxlayer"), Bulkhead.ofDefaults("mailboxlayer"));
+
+        EmailValidationResponse response = service.validateEmail("user@example.com");
+
+        assertTrue(response.isFormatValid());
+        assertTrue(response.isMxFound());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void healthyUpstream_ClientMetricsDoNotExposeKeyOrEmail() {
+        handler = exchange -> respond(exchange, 200, VALID_BODY);
+        var service = service(CircuitBreaker.ofDefaults("mailboxlayer"), Bulkhead.ofDefaults("mailboxlayer"));
+        var meterRegistry = new SimpleMeterRegistry();
+        var observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        ((RestTemplate) ReflectionTestUtils.getField(service, "restTemplate")).setObservationRegistry(observationRegistry);
+
+        assertTrue(service.validateEmail("user@example.com").isFormatValid());
+
+        var timer = meterRegistry.get("http.client.requests").timer();
+        assertEquals("/api/check?access_key={key}&email={email}&smtp=1&format=1", timer.getId().getTag("uri"));
+        for (var meter : meterRegistry.getMeters()) {
+            for (var tag : meter.getId().getTags()) {
+                assertFalse(tag.getValue().contains("test-api-key"), tag::toString);
+                assertFalse(tag.getValue().contains("user@example.com"), tag::toString);
+            }
+        }
+    }
+
+    @Test
+    void healthyUpstream_ReusesPooledConnection() {
+        handler = exchange -> respond(exchange, 200, VALID_BODY);
+        var service = service(CircuitBreaker.ofDefaults("mailboxlayer"), Bulkhead.ofDefaults("mailboxlayer"));
+
+        for (int i = 0; i < 5; i++)
+            assertTrue(service.validateEmail("user" + i + "@example.com").isFormatValid());
+
+        assertEquals(5, hits.get());
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void slowUpstream_TimesOutAndReturnsFallback() {
+        handler = exchange -> {
+            Thread.sleep(3000);
+            respond(exchange, 200, VALID_BODY);
+        };
+        var service = service(CircuitBreaker.ofDefaults("mailboxlayer"), Bulkhead.ofDefaults("mailboxlayer"));
+
+        long start = System.nanoTime();
+        EmailValidationResponse response = service.validateEmail("user@example.com");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(response.isFormatValid());
+        assertTrue(response.isDisposable());
+        assertTrue(elapsedMs < 2000, "Call took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void failingUpstream_OpensCircuitAndStopsCallingApi() {
+        handler = exchange -> respond(exchange, 500, "{}");
+        var circuitBreaker = CircuitBreaker.of("mailboxlayer", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        var service = service(circuitBreaker, Bulkhead.ofDefaults("mailboxlayer"));
+
+        for (int i = 0; i < 10; i++) {
+            EmailValidationResponse response = service.validateEmail("user" + i + "@example.com");
+            assertFalse(response.isFormatValid());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, hits.get());
+        assertEquals(6, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    @Test
+    void busyUpstream_BulkheadRejectsExtraCalls() throws Exception {
+        var release = new CountDownLatch(1);
+        handler = exchange -> {
+            release.await(5, TimeUnit.SECONDS);
+            respond(exchange, 200, VALID_BODY);
+        };
+        var bulkhead = Bulkhead.of("mailboxlayer", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        var service = service(CircuitBreaker.ofDefaults("mailboxlayer"), bulkhead);
+
+        var inFlight = new Thread(() -> service.validateEmail("first@example.com"));
+        inFlight.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (hits.get() == 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        EmailValidationResponse rejected = service.validateEmail("second@example.com");
+
+        release.countDown();
+        inFlight.join();
+
+        assertFalse(rejected.isFormatValid());
+        assertEquals(1, hits.get());
+        assertTrue(service.validateEmail("first@example.com").isFormatValid());
+    }
+
+    private EmailValidationServiceImpl service(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        var config = new RestTemplateConfig();
+        var connectionManager = config.outboundConnectionManager(new SimpleMeterRegistry(), 500, 500, 10, 5, 60000);
+        var restTemplate = config.restTemplate(new RestTemplateBuilder(),
+                config.outboundHttpClient(connectionManager, 500, 500, 30000, 30000));
+        var service = new EmailValidationServiceImpl(restTemplate, circuitBreaker, bulkhead, new SimpleMeterRegistry(),
+                100, 60000, 0, 100, 60000);
+        ReflectionTestUtils.setField(service, "apiKey", "test-api-key");
+        ReflectionTestUtils.setField(service, "apiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/check");
+        return service;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -1,10 +1,12 @@
 package com.mx.raven.calculator.service.impl;
 
 import com.mx.raven.calculator.model.EmailValidationResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -20,8 +22,8 @@ class EmailValidationServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private EmailValidationServiceImpl emailValidationService;
+    private SimpleMeterRegistry meterRegistry;
 
     private final String testApiKey = "test-api-key";
     private final String testApiUrl = "http://test-api-url";
@@ -30,6 +32,10 @@ class EmailValidationServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailValidationService = new EmailValidationServiceImpl(restTemplate,
+                CircuitBreaker.ofDefaults("test"), Bulkhead.ofDefaults("test"), meterRegistry,
+                100, 60000, 0, 100, 60000);
         ReflectionTestUtils.setField(emailValidationService, "apiKey", testApiKey);
         ReflectionTestUtils.setField(emailValidationService, "apiUrl", testApiUrl);
     }
@@ -42,7 +48,7 @@ class EmailValidationServiceImplTest {
         validResponse.setMxFound(true);
         validResponse.setDisposable(false);
 
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenReturn(validResponse);
 
         EmailValidationResponse result = emailValidationService.validateEmail(validEmail);
@@ -53,14 +59,13 @@ class EmailValidationServiceImplTest {
         assertTrue(result.isMxFound());
         assertFalse(result.isDisposable());
 
-        verify(restTemplate).getForObject(contains(testApiUrl), eq(EmailValidationResponse.class));
-        verify(restTemplate).getForObject(contains("access_key=" + testApiKey), eq(EmailValidationResponse.class));
-        verify(restTemplate).getForObject(contains("email=" + validEmail), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(testApiUrl + "?access_key={key}&email={email}&smtp=1&format=1",
+                EmailValidationResponse.class, testApiKey, validEmail);
     }
 
     @Test
     void validateEmail_ApiError_ReturnsFallbackResponse() {
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenThrow(new RuntimeException("API Error"));
 
         EmailValidationResponse result = emailValidationService.validateEmail(validEmail);
@@ -71,7 +76,9 @@ class EmailValidationServiceImplTest {
         assertFalse(result.isMxFound());
         assertTrue(result.isDisposable());
 
-        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+        assertEquals(1, meterRegistry.get("email.validation.mailboxlayer.calls").tag("outcome", "error").timer().count());
+        assertEquals(0, meterRegistry.get("email.validation.mailboxlayer.calls").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -82,14 +89,14 @@ class EmailValidationServiceImplTest {
         validResponse.setMxFound(true);
         validResponse.setDisposable(false);
 
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenReturn(validResponse);
 
         boolean result = emailValidationService.isEmailValid(validEmail);
 
         assertTrue(result);
 
-        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
     }
 
     @Test
@@ -100,14 +107,14 @@ class EmailValidationServiceImplTest {
         invalidResponse.setMxFound(true);
         invalidResponse.setDisposable(false);
 
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenReturn(invalidResponse);
 
         boolean result = emailValidationService.isEmailValid(invalidEmail);
 
         assertFalse(result);
 
-        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
     }
 
     @Test
@@ -118,14 +125,14 @@ class EmailValidationServiceImplTest {
         invalidResponse.setMxFound(false);
         invalidResponse.setDisposable(false);
 
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenReturn(invalidResponse);
 
         boolean result = emailValidationService.isEmailValid(invalidEmail);
 
         assertFalse(result);
 
-        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
     }
 
     @Test
@@ -136,13 +143,94 @@ class EmailValidationServiceImplTest {
         invalidResponse.setMxFound(true);
         invalidResponse.setDisposable(true);
 
-        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class)))
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
                 .thenReturn(invalidResponse);
 
         boolean result = emailValidationService.isEmailValid(invalidEmail);
 
         assertFalse(result);
 
-        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class));
+        verify(restTemplate).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateEmail_SameAddress_CallsApiOnce() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenReturn(response(validEmail, "example.com", true, true, false));
+
+        emailValidationService.validateEmail(validEmail);
+        EmailValidationResponse result = emailValidationService.validateEmail("  Valid@Example.COM ");
+
+        assertTrue(result.isFormatValid());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "email.validation.responses")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void validateEmail_CachedResponseIsNotShared() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenReturn(response(validEmail, "example.com", true, true, false));
+
+        emailValidationService.validateEmail(validEmail).setFormatValid(false);
+
+        assertTrue(emailValidationService.validateEmail(validEmail).isFormatValid());
+    }
+
+    @Test
+    void validateEmail_FallbackResponse_IsRetried() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenThrow(new RuntimeException("API Error"))
+                .thenReturn(response(validEmail, "example.com", true, true, false));
+
+        assertFalse(emailValidationService.validateEmail(validEmail).isFormatValid());
+        assertTrue(emailValidationService.validateEmail(validEmail).isFormatValid());
+
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+    }
+
+    @Test
+    void isEmailValid_SameDomain_UsesDomainVerdict() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenReturn(response("first@example.com", "example.com", true, true, false));
+
+        assertTrue(emailValidationService.isEmailValid("first@example.com"));
+        assertTrue(emailValidationService.isEmailValid("second@example.com"));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+    }
+
+    @Test
+    void isEmailValid_DisposableDomain_RejectsOtherAddressesWithoutApi() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenReturn(response("first@mailinator.com", "mailinator.com", true, true, true));
+
+        assertFalse(emailValidationService.isEmailValid("first@mailinator.com"));
+        assertFalse(emailValidationService.isEmailValid("second@mailinator.com"));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+    }
+
+    @Test
+    void isEmailValid_ValidDomainButUnusualFormat_CallsApi() {
+        when(restTemplate.getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString()))
+                .thenReturn(response("first@example.com", "example.com", true, true, false))
+                .thenReturn(response("we\"ird@example.com", "example.com", false, true, false));
+
+        assertTrue(emailValidationService.isEmailValid("first@example.com"));
+        assertFalse(emailValidationService.isEmailValid("we\"ird@example.com"));
+
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(EmailValidationResponse.class), eq(testApiKey), anyString());
+    }
+
+    private static EmailValidationResponse response(String email, String domain, boolean formatValid,
+                                                    boolean mxFound, boolean disposable) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setDomain(domain);
+        response.setFormatValid(formatValid);
+        response.setMxFound(mxFound);
+        response.setDisposable(disposable);
+        return response;
+    }
+}
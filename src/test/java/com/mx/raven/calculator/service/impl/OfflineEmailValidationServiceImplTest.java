@@ -0,0 +1,118 @@
+package com.mx.raven.calculator.service.impl;
+
+import com.mx.raven.calculator.email.DisposableDomainSet;
+import com.mx.raven.calculator.email.MxResolver;
+import com.mx.raven.calculator.model.EmailValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfflineEmailValidationServiceImplTest {
+
+    @Mock
+    private MxResolver mxResolver;
+
+    @Mock
+    private EmailValidationServiceImpl mailboxlayer;
+
+    private OfflineEmailValidationServiceImpl service;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new OfflineEmailValidationServiceImpl(DisposableDomainSet.of("mailinator.com"), mxResolver,
+                mailboxlayer, meterRegistry);
+    }
+
+    @Test
+    void isEmailValid_DomainWithMx_ValidWithoutCallingApi() {
+        when(mxResolver.lookup("example.com")).thenReturn(MxResolver.Result.FOUND);
+
+        assertTrue(service.isEmailValid(" User.Name+tag@Example.com "));
+
+        verifyNoInteractions(mailboxlayer);
+        assertEquals(1, verdicts("local"));
+    }
+
+    @Test
+    void validateEmail_DomainWithMx_FillsResponse() {
+        when(mxResolver.lookup("example.com")).thenReturn(MxResolver.Result.FOUND);
+
+        EmailValidationResponse response = service.validateEmail("user@example.com");
+
+        assertEquals("user@example.com", response.getEmail());
+        assertEquals("user", response.getUser());
+        assertEquals("example.com", response.getDomain());
+        assertTrue(response.isFormatValid());
+        assertTrue(response.isMxFound());
+        assertFalse(response.isDisposable());
+    }
+
+    @Test
+    void isEmailValid_DomainWithoutMx_Invalid() {
+        when(mxResolver.lookup("example.com")).thenReturn(MxResolver.Result.NOT_FOUND);
+
+        assertFalse(service.isEmailValid("user@example.com"));
+
+        verifyNoInteractions(mailboxlayer);
+    }
+
+    @Test
+    void isEmailValid_DisposableDomain_InvalidWithoutDnsLookup() {
+        assertFalse(service.isEmailValid("user@mx.mailinator.com"));
+
+        verifyNoInteractions(mxResolver, mailboxlayer);
+    }
+
+    @Test
+    void isEmailValid_MalformedAddress_InvalidWithoutLookups() {
+        assertFalse(service.isEmailValid("no-at-sign.example.com"));
+        assertFalse(service.isEmailValid("user@localhost"));
+        assertFalse(service.isEmailValid("us er@example.com"));
+        assertFalse(service.isEmailValid("@example.com"));
+
+        verifyNoInteractions(mxResolver, mailboxlayer);
+    }
+
+    @Test
+    void isEmailValid_DnsFailure_FallsBackToMailboxlayer() {
+        when(mxResolver.lookup("example.com")).thenReturn(MxResolver.Result.UNKNOWN);
+        when(mailboxlayer.validateEmail("user@example.com")).thenReturn(apiResponse());
+
+        assertTrue(service.isEmailValid("user@example.com"));
+
+        verify(mailboxlayer).validateEmail("user@example.com");
+        assertEquals(1, verdicts("mailboxlayer"));
+    }
+
+    @Test
+    void isEmailValid_UnusualSyntax_FallsBackToMailboxlayer() {
+        when(mailboxlayer.validateEmail(anyString())).thenReturn(apiResponse());
+
+        assertTrue(service.isEmailValid("\"john.doe\"@example.com"));
+
+        verifyNoInteractions(mxResolver);
+        verify(mailboxlayer).validateEmail("\"john.doe\"@example.com");
+    }
+
+    private double verdicts(String source) {
+        return meterRegistry.get("email.validation.verdicts").tag("source", source).counter().count();
+    }
+
+    private static EmailValidationResponse apiResponse() {
+        var response = new EmailValidationResponse();
+        response.setFormatValid(true);
+        response.setMxFound(true);
+        response.setDisposable(false);
+        return response;
+    }
+}
@@ -1,16 +1,29 @@
 package com.mx.raven.calculator.service.impl;
 
+import com.mx.raven.calculator.exceptions.InvalidObjectException;
 import com.mx.raven.calculator.exceptions.ObjectNotFoundException;
+import com.mx.raven.calculator.model.HistoryCursor;
+import com.mx.raven.calculator.model.dto.CursorPageDTO;
 import com.mx.raven.calculator.model.dto.UserDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
+import com.mx.raven.calculator.persistence.entities.UserOperation;
 import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
 import com.mx.raven.calculator.security.JwtTokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,12 +34,16 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +58,9 @@ class OperationHistoryServiceImplTest {
     @Mock
     private UserEventRepository userEventRepository;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OperationHistoryServiceImpl operationHistoryService;
 
@@ -93,6 +113,48 @@ class OperationHistoryServiceImplTest {
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
         verify(repository).storePageUserOperations(any(Specification.class), any(Pageable.class));
+        assertEquals(1, meterRegistry.get("calculator.history.query")
+                .tags("query", "page", "filter", "type_dates").timer().count());
+        assertEquals(0, meterRegistry.get("calculator.history.query")
+                .tags("query", "page", "filter", "none").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getOperations_FiltersByAuthenticatedUser() {
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+        when(repository.storePageUserOperations(any(Specification.class), any(Pageable.class))).thenReturn(operationPage);
+
+        operationHistoryService.getOperations(Optional.empty(), Optional.of(startDate), Optional.empty(), pageable, token);
+
+        ArgumentCaptor<Specification<UserOperation>> captor = ArgumentCaptor.forClass(Specification.class);
+        verify(repository).storePageUserOperations(captor.capture(), eq(pageable));
+
+        Root<UserOperation> root = mock(Root.class, RETURNS_DEEP_STUBS);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Path<Object> userId = mock(Path.class);
+        Path<Object> timestamp = mock(Path.class);
+        when(root.get("user").get("id")).thenReturn(userId);
+        when(root.get("timestamp")).thenReturn(timestamp);
+
+        captor.getValue().toPredicate(root, mock(CriteriaQuery.class), cb);
+
+        verify(cb).equal(userId, 1L);
+        verify(cb).greaterThanOrEqualTo(any(Expression.class), eq(startDate));
+        verify(cb, never()).lessThanOrEqualTo(any(Expression.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getOperationById_UserIdFromTokenClaim_SkipsUserLookup() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeGetByIdUserOperation(1L, 1L)).thenReturn(Optional.of(userOperationDTO));
+
+        UserOperationDTO result = operationHistoryService.getOperationById(1L, token);
+
+        assertEquals(userOperationDTO.getId(), result.getId());
+        verify(jwtTokenUtil, never()).getUsernameFromToken(token);
+        verifyNoInteractions(userEventRepository);
     }
 
     @Test
@@ -112,11 +174,98 @@ class OperationHistoryServiceImplTest {
         verify(repository, never()).storePageUserOperations(any(Specification.class), any(Pageable.class));
     }
 
+    @Test
+    void getOperationsByCursor_HasNext() {
+        UserOperationDTO older = new UserOperationDTO();
+        older.setId(2L);
+        older.setTimestamp(userOperationDTO.getTimestamp().minusMinutes(1));
+        UserOperationDTO oldest = new UserOperationDTO();
+        oldest.setId(3L);
+        oldest.setTimestamp(userOperationDTO.getTimestamp().minusMinutes(2));
+
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+        when(repository.storeSeekUserOperations(any(Specification.class), eq(3)))
+                .thenReturn(List.of(userOperationDTO, older, oldest));
+
+        CursorPageDTO<UserOperationDTO> result = operationHistoryService.getOperationsByCursor(
+                Optional.of("add"), Optional.empty(), Optional.empty(), Optional.empty(), 2, token);
+
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(List.of(userOperationDTO, older), result.getContent());
+        HistoryCursor next = HistoryCursor.decode(result.getNextCursor());
+        assertEquals(older.getTimestamp(), next.timestamp());
+        assertEquals(older.getId(), next.id());
+    }
+
+    @Test
+    void getOperationsByCursor_LastPage() {
+        String cursor = new HistoryCursor(userOperationDTO.getTimestamp().plusMinutes(1), 5L).encode();
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+        when(repository.storeSeekUserOperations(any(Specification.class), eq(11)))
+                .thenReturn(List.of(userOperationDTO));
+
+        CursorPageDTO<UserOperationDTO> result = operationHistoryService.getOperationsByCursor(
+                Optional.empty(), Optional.of(startDate), Optional.of(endDate), Optional.of(cursor), 10, token);
+
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getOperationsByCursor_InvalidCursor() {
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+
+        Exception exception = assertThrows(InvalidObjectException.class, () ->
+                operationHistoryService.getOperationsByCursor(
+                        Optional.empty(), Optional.empty(), Optional.empty(), Optional.of("not-a-cursor"), 10, token));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+        verify(repository, never()).storeSeekUserOperations(any(Specification.class), anyInt());
+    }
+
+    @Test
+    void getOperationsByCursor_InvalidSize() {
+        Exception exception = assertThrows(InvalidObjectException.class, () ->
+                operationHistoryService.getOperationsByCursor(
+                        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), 101, token));
+
+        assertEquals("Size must be between 1 and 100", exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportOperations_StreamsUserOperationsToConsumer() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeStreamUserOperations(eq(1L), eq(Optional.of("add")), eq(Optional.of(startDate)),
+                eq(Optional.empty()), any(Consumer.class)))
+                .thenAnswer(invocation -> {
+                    Consumer<UserOperationDTO> consumer = invocation.getArgument(4);
+                    consumer.accept(userOperationDTO);
+                    return 1L;
+                });
+
+        List<UserOperationDTO> exported = new ArrayList<>();
+        long count = operationHistoryService.exportOperations(Optional.of("add"), Optional.of(startDate),
+                Optional.empty(), token, exported::add);
+
+        assertEquals(1, count);
+        assertEquals(List.of(userOperationDTO), exported);
+        verifyNoInteractions(userEventRepository);
+        assertEquals(1, meterRegistry.get("calculator.history.query")
+                .tags("query", "export", "filter", "type_dates").timer().count());
+    }
+
     @Test
     void getOperationById_Success() {
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
-        when(repository.storeGetByIdUserOperation(1L)).thenReturn(Optional.of(userOperationDTO));
+        when(repository.storeGetByIdUserOperation(1L, 1L)).thenReturn(Optional.of(userOperationDTO));
 
         UserOperationDTO result = operationHistoryService.getOperationById(1L, token);
 
@@ -126,7 +275,7 @@ class OperationHistoryServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository).storeGetByIdUserOperation(1L);
+        verify(repository).storeGetByIdUserOperation(1L, 1L);
     }
 
     @Test
@@ -142,14 +291,14 @@ class OperationHistoryServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository, never()).storeGetByIdUserOperation(anyLong());
+        verify(repository, never()).storeGetByIdUserOperation(anyLong(), anyLong());
     }
 
     @Test
     void getOperationById_OperationNotFound() {
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
-        when(repository.storeGetByIdUserOperation(1L)).thenReturn(Optional.empty());
+        when(repository.storeGetByIdUserOperation(1L, 1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ObjectNotFoundException.class, () -> {
             operationHistoryService.getOperationById(1L, token);
@@ -159,22 +308,20 @@ class OperationHistoryServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository).storeGetByIdUserOperation(1L);
+        verify(repository).storeGetByIdUserOperation(1L, 1L);
     }
 
     @Test
     void deleteOperationById_Success() {
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
-        when(repository.storeGetByIdUserOperation(1L)).thenReturn(Optional.of(userOperationDTO));
-        doNothing().when(repository).storeDeleteUserOperation(1L);
+        when(repository.storeDeleteUserOperation(1L, 1L)).thenReturn(true);
 
         operationHistoryService.deleteOperationById(1L, token);
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository).storeGetByIdUserOperation(1L);
-        verify(repository).storeDeleteUserOperation(1L);
+        verify(repository).storeDeleteUserOperation(1L, 1L);
     }
 
     @Test
@@ -190,15 +337,14 @@ class OperationHistoryServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository, never()).storeGetByIdUserOperation(anyLong());
-        verify(repository, never()).storeDeleteUserOperation(anyLong());
+        verify(repository, never()).storeDeleteUserOperation(anyLong(), anyLong());
     }
 
     @Test
     void deleteOperationById_OperationNotFound() {
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
-        when(repository.storeGetByIdUserOperation(1L)).thenReturn(Optional.empty());
+        when(repository.storeDeleteUserOperation(1L, 1L)).thenReturn(false);
 
         Exception exception = assertThrows(ObjectNotFoundException.class, () -> {
             operationHistoryService.deleteOperationById(1L, token);
@@ -208,7 +354,6 @@ class OperationHistoryServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(repository).storeGetByIdUserOperation(1L);
-        verify(repository, never()).storeDeleteUserOperation(anyLong());
+        verify(repository).storeDeleteUserOperation(1L, 1L);
     }
 }
\ No newline at end of file
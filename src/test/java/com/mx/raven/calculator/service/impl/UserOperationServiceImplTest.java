@@ -1,12 +1,18 @@
 package com.mx.raven.calculator.service.impl;
 
+import com.mx.raven.calculator.calculation.UserOperationCalculator;
 import com.mx.raven.calculator.exceptions.InvalidObjectException;
+import com.mx.raven.calculator.expression.ExpressionEngine;
+import com.mx.raven.calculator.model.dto.BatchOperationResultDTO;
 import com.mx.raven.calculator.model.dto.UserDTO;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import com.mx.raven.calculator.persistence.repositories.UserEventRepository;
 import com.mx.raven.calculator.persistence.repositories.UserOperationEventRepository;
+import com.mx.raven.calculator.persistence.writebehind.UserOperationWriteBehindQueue;
 import com.mx.raven.calculator.security.JwtTokenUtil;
 import com.mx.raven.calculator.validation.UserOperationSaveValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,23 +20,33 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserOperationServiceImplTest {
 
-    @Mock
-    private UserOperationSaveValidator validator;
+    private final UserOperationSaveValidator validator = spy(new UserOperationSaveValidator());
+
+    @Spy
+    private UserOperationCalculator calculator = new UserOperationCalculator(validator, 1, RoundingMode.HALF_UP, 30);
 
     @Mock
     private UserOperationEventRepository repository;
@@ -41,6 +57,15 @@ class UserOperationServiceImplTest {
     @Mock
     private UserEventRepository userEventRepository;
 
+    @Mock
+    private UserOperationWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private ExpressionEngine expressionEngine;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserOperationServiceImpl userOperationService;
 
@@ -54,6 +79,24 @@ class UserOperationServiceImplTest {
         userDTO = new UserDTO();
         userDTO.setId(1L);
         userDTO.setUsername("testuser");
+
+        ReflectionTestUtils.setField(userOperationService, "maxBatchSize", 3);
+    }
+
+    @Test
+    void calculate_UserIdFromTokenClaim_SkipsUserLookup() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            UserOperationDTO dto = invocation.getArgument(0);
+            dto.setId(1L);
+            return dto;
+        });
+
+        UserOperationDTO result = userOperationService.calculate("add", BigDecimal.ONE, BigDecimal.ONE, null, null, token);
+
+        assertEquals(1L, result.getUserId());
+        verify(jwtTokenUtil, never()).getUsernameFromToken(token);
+        verifyNoInteractions(userEventRepository);
     }
 
     @ParameterizedTest
@@ -70,7 +113,6 @@ class UserOperationServiceImplTest {
 
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
-        doNothing().when(validator).validate(any(UserOperationDTO.class));
 
         UserOperationDTO savedOperation = new UserOperationDTO();
         savedOperation.setId(1L);
@@ -83,7 +125,7 @@ class UserOperationServiceImplTest {
 
         when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenReturn(savedOperation);
 
-        UserOperationDTO result = userOperationService.calculate(operation, a, b, token);
+        UserOperationDTO result = userOperationService.calculate(operation, a, b, null, null, token);
 
         assertNotNull(result);
         assertEquals(operation, result.getOperation());
@@ -94,25 +136,41 @@ class UserOperationServiceImplTest {
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(validator).validate(any(UserOperationDTO.class));
+        verify(validator).validateOperation(any(UserOperationDTO.class));
         verify(repository).storeSaveUserOperation(any(UserOperationDTO.class));
     }
 
+    @Test
+    void calculate_RecordsTimerByOperationAndOutcome() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userOperationService.calculate("ADD", BigDecimal.ONE, BigDecimal.ONE, null, null, token);
+        assertThrows(InvalidObjectException.class,
+                () -> userOperationService.calculate("pow", BigDecimal.ONE, BigDecimal.ONE, null, null, token));
+
+        assertEquals(1, meterRegistry.get("calculator.operation.calculate")
+                .tags("operation", "add", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("calculator.operation.calculate")
+                .tags("operation", "unknown", "outcome", "invalid").timer().count());
+        assertEquals(0, meterRegistry.get("calculator.operation.calculate")
+                .tags("operation", "add", "outcome", "invalid").timer().count());
+    }
+
     @Test
     void calculate_InvalidOperation() {
         String operation = "invalid";
         BigDecimal a = BigDecimal.valueOf(10);
         BigDecimal b = BigDecimal.valueOf(5);
 
-        doNothing().when(validator).validate(any(UserOperationDTO.class));
 
         Exception exception = assertThrows(InvalidObjectException.class, () -> {
-            userOperationService.calculate(operation, a, b, token);
+            userOperationService.calculate(operation, a, b, null, null, token);
         });
 
         assertEquals("Invalid operation: invalid", exception.getMessage());
 
-        verify(validator).validate(any(UserOperationDTO.class));
+        verify(validator).validateOperation(any(UserOperationDTO.class));
         verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
     }
 
@@ -122,13 +180,14 @@ class UserOperationServiceImplTest {
         BigDecimal a = BigDecimal.valueOf(10);
         BigDecimal b = BigDecimal.ZERO;
 
-        doNothing().when(validator).validate(any(UserOperationDTO.class));
 
-        assertThrows(ArithmeticException.class, () -> {
-            userOperationService.calculate(operation, a, b, token);
+        Exception exception = assertThrows(InvalidObjectException.class, () -> {
+            userOperationService.calculate(operation, a, b, null, null, token);
         });
 
-        verify(validator).validate(any(UserOperationDTO.class));
+        assertEquals("Division by zero is not allowed", exception.getMessage());
+
+        verify(validator).validateOperation(any(UserOperationDTO.class));
         verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
     }
 
@@ -138,15 +197,15 @@ class UserOperationServiceImplTest {
         BigDecimal a = BigDecimal.valueOf(10);
         BigDecimal b = BigDecimal.valueOf(5);
 
-        doThrow(new IllegalArgumentException("Validation failed")).when(validator).validate(any(UserOperationDTO.class));
+        doThrow(new IllegalArgumentException("Validation failed")).when(validator).validateOperation(any(UserOperationDTO.class));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            userOperationService.calculate(operation, a, b, token);
+            userOperationService.calculate(operation, a, b, null, null, token);
         });
 
         assertEquals("Validation failed", exception.getMessage());
 
-        verify(validator).validate(any(UserOperationDTO.class));
+        verify(validator).validateOperation(any(UserOperationDTO.class));
         verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
     }
 
@@ -158,17 +217,266 @@ class UserOperationServiceImplTest {
 
         when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
         when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        doNothing().when(validator).validate(any(UserOperationDTO.class));
 
         Exception exception = assertThrows(UsernameNotFoundException.class, () -> {
-            userOperationService.calculate(operation, a, b, token);
+            userOperationService.calculate(operation, a, b, null, null, token);
         });
 
         assertEquals("User not found with username: testuser", exception.getMessage());
 
         verify(jwtTokenUtil).getUsernameFromToken(token);
         verify(userEventRepository).findByUsername("testuser");
-        verify(validator).validate(any(UserOperationDTO.class));
+        verify(validator).validateOperation(any(UserOperationDTO.class));
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculate_WriteBehindEnabled_QueuesOperation() {
+        BigDecimal a = BigDecimal.valueOf(10);
+        BigDecimal b = BigDecimal.valueOf(5);
+
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(writeBehindQueue.enqueue(any(UserOperationDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserOperationDTO result = userOperationService.calculate("add", a, b, null, null, token);
+
+        assertNull(result.getId());
+        assertEquals(new BigDecimal("15.0"), result.getResult());
+        assertEquals(1L, result.getUserId());
+        verify(writeBehindQueue).enqueue(any(UserOperationDTO.class));
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculate_CallerSelectedPrecision() {
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserOperationDTO sqrt = userOperationService.calculate("sqrt", BigDecimal.valueOf(2), BigDecimal.ZERO,
+                20, RoundingMode.HALF_UP, token);
+        UserOperationDTO divide = userOperationService.calculate("divide", BigDecimal.valueOf(2), BigDecimal.valueOf(3),
+                3, RoundingMode.DOWN, token);
+
+        assertEquals(new BigDecimal("1.41421356237309504880"), sqrt.getResult());
+        assertEquals(new BigDecimal("0.666"), divide.getResult());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1", "31"})
+    void calculate_ScaleOutOfRange(int scale) {
+        Exception exception = assertThrows(InvalidObjectException.class, () ->
+                userOperationService.calculate("add", BigDecimal.ONE, BigDecimal.ONE, scale, null, token));
+
+        assertEquals("Scale must be between 0 and 30", exception.getMessage());
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculate_RoundingModeUnnecessary() {
+        assertThrows(InvalidObjectException.class, () ->
+                userOperationService.calculate("add", BigDecimal.ONE, BigDecimal.ONE, 1, RoundingMode.UNNECESSARY, token));
+    }
+
+    @Test
+    void calculateBatch_MixedOperations_ReportsErrorsPerItem() {
+        var valid = new UserOperationDTO(null, "add", BigDecimal.valueOf(10), BigDecimal.valueOf(5), null, null, null, null);
+        var invalid = new UserOperationDTO(null, "invalid", BigDecimal.valueOf(10), BigDecimal.valueOf(5), null, null, null, null);
+        var divide = new UserOperationDTO(null, "divide", BigDecimal.valueOf(9), BigDecimal.valueOf(2), null, null, null, null);
+
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> {
+            List<UserOperationDTO> dtos = invocation.getArgument(0);
+            List<UserOperationDTO> saved = new ArrayList<>();
+            long id = 1;
+            for (var dto : dtos) {
+                saved.add(new UserOperationDTO(id++, dto.getOperation(), dto.getOperandA(), dto.getOperandB(),
+                        dto.getResult(), dto.getTimestamp(), null, null));
+            }
+            return saved;
+        });
+
+        List<BatchOperationResultDTO> results = userOperationService.calculateBatch(List.of(valid, invalid, divide), null, null, token);
+
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(1L, results.get(0).getOperation().getId());
+        assertEquals(new BigDecimal("15.0"), results.get(0).getOperation().getResult());
+        assertEquals(1L, results.get(0).getOperation().getUserId());
+        assertNull(results.get(0).getError());
+
+        assertNull(results.get(1).getOperation());
+        assertEquals("Invalid operation: invalid", results.get(1).getError());
+
+        assertEquals(2L, results.get(2).getOperation().getId());
+        assertEquals(new BigDecimal("4.5"), results.get(2).getOperation().getResult());
+
+        verify(userEventRepository, times(1)).findByUsername("testuser");
+        verify(repository, times(1)).storeSaveAllUserOperations(anyList());
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculateBatch_AllInvalid_NothingSaved() {
+        var invalid = new UserOperationDTO(null, "invalid", BigDecimal.ONE, BigDecimal.ONE, null, null, null, null);
+
+        when(jwtTokenUtil.getUsernameFromToken(token)).thenReturn("testuser");
+        when(userEventRepository.findByUsername("testuser")).thenReturn(Optional.of(userDTO));
+
+        List<BatchOperationResultDTO> results = userOperationService.calculateBatch(List.of(invalid), null, null, token);
+
+        assertEquals(1, results.size());
+        assertEquals("Invalid operation: invalid", results.get(0).getError());
+        verify(repository, never()).storeSaveAllUserOperations(anyList());
+    }
+
+    @Test
+    void calculateBatch_EmptyBatch() {
+        Exception exception = assertThrows(InvalidObjectException.class, () -> {
+            userOperationService.calculateBatch(List.of(), null, null, token);
+        });
+
+        assertEquals("Batch cannot be null or empty", exception.getMessage());
+        verify(repository, never()).storeSaveAllUserOperations(anyList());
+    }
+
+    @Test
+    void calculateBatch_TooManyOperations() {
+        var dto = new UserOperationDTO(null, "add", BigDecimal.ONE, BigDecimal.ONE, null, null, null, null);
+
+        Exception exception = assertThrows(InvalidObjectException.class, () -> {
+            userOperationService.calculateBatch(List.of(dto, dto, dto, dto), null, null, token);
+        });
+
+        assertEquals("Batch cannot contain more than 3 operations", exception.getMessage());
+        verify(jwtTokenUtil, never()).getUsernameFromToken(any());
+    }
+
+    @Test
+    void calculateStream_SavesAndEmitsOneChunkAtATime() {
+        ReflectionTestUtils.setField(userOperationService, "streamChunkSize", 2);
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var operations = new ArrayList<UserOperationDTO>();
+        for (int i = 0; i < 5; i++)
+            operations.add(new UserOperationDTO(null, "add", BigDecimal.valueOf(i), BigDecimal.ONE, null, null, null, null));
+        List<List<BatchOperationResultDTO>> chunks = new ArrayList<>();
+
+        int processed = userOperationService.calculateStream(operations.iterator(), null, null, token,
+                chunk -> chunks.add(List.copyOf(chunk)));
+
+        assertEquals(5, processed);
+        assertEquals(List.of(2, 2, 1), chunks.stream().map(List::size).toList());
+        assertEquals(4, chunks.get(2).getFirst().getIndex());
+        assertEquals(new BigDecimal("5.0"), chunks.get(2).getFirst().getOperation().getResult());
+        verify(repository, times(3)).storeSaveAllUserOperations(anyList());
+    }
+
+    @Test
+    void calculateStream_UnreadableElement_ReportedAndStreamContinues() {
+        ReflectionTestUtils.setField(userOperationService, "streamChunkSize", 10);
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(repository.storeSaveAllUserOperations(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var valid = new UserOperationDTO(null, "add", BigDecimal.ONE, BigDecimal.ONE, null, null, null, null);
+        var input = new Iterator<UserOperationDTO>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < 3;
+            }
+
+            @Override
+            public UserOperationDTO next() {
+                if (position++ == 1)
+                    throw new InvalidObjectException("Malformed JSON");
+                return new UserOperationDTO(null, valid.getOperation(), valid.getOperandA(), valid.getOperandB(),
+                        null, null, null, null);
+            }
+        };
+        List<BatchOperationResultDTO> results = new ArrayList<>();
+
+        userOperationService.calculateStream(input, null, null, token, results::addAll);
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getOperation());
+        assertEquals("Malformed JSON", results.get(1).getError());
+        assertEquals(2, results.get(2).getIndex());
+        assertNotNull(results.get(2).getOperation());
+    }
+
+    @Test
+    void calculateStream_InvalidScale_FailsBeforeReading() {
+        var operations = List.of(new UserOperationDTO()).iterator();
+
+        assertThrows(InvalidObjectException.class, () ->
+                userOperationService.calculateStream(operations, 31, null, token, chunk -> fail("No output expected")));
+
+        assertTrue(operations.hasNext());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void calculateExpression_SavesExpressionInHistory() {
+        Map<String, BigDecimal> variables = Map.of("a", BigDecimal.ONE);
+
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(expressionEngine.evaluate("a + 1", variables)).thenReturn(new BigDecimal("2"));
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> {
+            UserOperationDTO dto = invocation.getArgument(0);
+            dto.setId(1L);
+            return dto;
+        });
+
+        UserOperationDTO result = userOperationService.calculateExpression("a + 1", variables, token);
+
+        assertEquals(1L, result.getId());
+        assertEquals("expression", result.getOperation());
+        assertEquals("a + 1", result.getExpression());
+        assertEquals(new BigDecimal("2"), result.getResult());
+        assertNull(result.getOperandA());
+        assertEquals(1L, result.getUserId());
+        verifyNoInteractions(validator);
+    }
+
+    @Test
+    void calculateExpression_InvalidExpression_NothingSaved() {
+        when(expressionEngine.evaluate("1 +", Map.of()))
+                .thenThrow(new InvalidObjectException("Expected a number, variable or '(' but found end of expression at position 3"));
+
+        assertThrows(InvalidObjectException.class,
+                () -> userOperationService.calculateExpression("1 +", Map.of(), token));
+
+        verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
+    }
+
+    @Test
+    void calculateExpression_ResultRoundedToStoredScale() {
+        //1/3 con MathContext(34) tiene 34 decimales; la columna result guarda 30
+        var evaluated = BigDecimal.ONE.divide(BigDecimal.valueOf(3), new MathContext(34, RoundingMode.HALF_UP));
+        when(jwtTokenUtil.getUserIdFromToken(token)).thenReturn(Optional.of(1L));
+        when(expressionEngine.evaluate("1 / 3", Map.of())).thenReturn(evaluated);
+        when(repository.storeSaveUserOperation(any(UserOperationDTO.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserOperationDTO result = userOperationService.calculateExpression("1 / 3", Map.of(), token);
+
+        var expected = new BigDecimal("0.333333333333333333333333333333");
+        assertEquals(expected, result.getResult());
+        verify(repository).storeSaveUserOperation(argThat(dto -> expected.equals(dto.getResult())));
+    }
+
+    @Test
+    void calculateExpression_ResultTooLarge() {
+        when(expressionEngine.evaluate("10 ^ 40", Map.of())).thenReturn(BigDecimal.TEN.pow(40));
+
+        Exception exception = assertThrows(InvalidObjectException.class,
+                () -> userOperationService.calculateExpression("10 ^ 40", Map.of(), token));
+
+        assertEquals("Expression result is too large to be stored", exception.getMessage());
         verify(repository, never()).storeSaveUserOperation(any(UserOperationDTO.class));
     }
 }
@@ -12,15 +12,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,18 +31,12 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @Mock
-    private AuthenticationManager authenticationManager;
-
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
     @Mock
     private UserSaveValidator userSaveValidator;
 
-    @Mock
-    private Authentication authentication;
-
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -113,11 +102,8 @@ class UserServiceImplTest {
         
         when(repository.findByUsername(anyString())).thenReturn(Optional.of(foundUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        
-        UserDetails userDetails = new User("testuser", "password", new ArrayList<>());
-        when(authentication.getPrincipal()).thenReturn(userDetails);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        when(jwtTokenUtil.generateToken(any(UserDetails.class))).thenReturn(token);
+
+        when(jwtTokenUtil.generateToken(any(UserDetails.class), eq(1L))).thenReturn(token);
 
         AuthenticationResponse response = userService.authenticateUser(authRequest);
 
@@ -125,9 +111,9 @@ class UserServiceImplTest {
         assertEquals(token, response.getToken());
 
         verify(repository).findByUsername(authRequest.getUsername());
-        verify(passwordEncoder).matches(authRequest.getPassword(), foundUser.getPassword());
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtTokenUtil).generateToken(any(UserDetails.class));
+        //Una sola verificación BCrypt por login
+        verify(passwordEncoder, times(1)).matches(authRequest.getPassword(), foundUser.getPassword());
+        verify(jwtTokenUtil).generateToken(argThat(details -> details.getUsername().equals("testuser")), eq(1L));
     }
 
     @Test
@@ -142,7 +128,7 @@ class UserServiceImplTest {
 
         verify(repository).findByUsername(authRequest.getUsername());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(authenticationManager, never()).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(jwtTokenUtil, never()).generateToken(any(UserDetails.class), anyLong());
     }
 
     @Test
@@ -163,6 +149,6 @@ class UserServiceImplTest {
 
         verify(repository).findByUsername(authRequest.getUsername());
         verify(passwordEncoder).matches(authRequest.getPassword(), foundUser.getPassword());
-        verify(authenticationManager, never()).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(jwtTokenUtil, never()).generateToken(any(UserDetails.class), anyLong());
     }
 }
\ No newline at end of file
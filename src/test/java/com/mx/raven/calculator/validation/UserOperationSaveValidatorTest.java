@@ -4,10 +4,13 @@ import com.mx.raven.calculator.exceptions.InvalidObjectException;
 import com.mx.raven.calculator.model.dto.UserOperationDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -70,6 +73,25 @@ class UserOperationSaveValidatorTest {
         assertEquals("Invalid operation: invalid", exception.getMessage());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"ADD", "Subtract", "mulTIPLY", "DIVIDE", "Sqrt"})
+    void validate_OperationInAnyCase_NoExceptions(String operation) {
+        validOperationDTO.setOperation(operation);
+
+        assertDoesNotThrow(() -> validator.validate(validOperationDTO));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ad", "adds", "sqr", "multiplx", "divide "})
+    void validate_NearMissOperation_ThrowsException(String operation) {
+        validOperationDTO.setOperation(operation);
+
+        Exception exception = assertThrows(InvalidObjectException.class, () -> validator.validate(validOperationDTO));
+
+        assertEquals("Invalid operation: " + operation, exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test
     void validate_NullOperandA_ThrowsException() {
         validOperationDTO.setOperandA(null);
@@ -159,4 +181,35 @@ class UserOperationSaveValidatorTest {
 
         assertEquals("Division by zero is not allowed", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateExpressionResult_MoreThan30Decimals_RoundedHalfUp() {
+        var result = UserOperationSaveValidator.validateExpressionResult(new BigDecimal("1.0000000000000000000000000000005"));
+
+        assertEquals(new BigDecimal("1.000000000000000000000000000001"), result);
+    }
+
+    @Test
+    @Timeout(1)
+    void validateExpressionResult_TinyLiteral_ZeroWithoutScaling() {
+        var result = UserOperationSaveValidator.validateExpressionResult(new BigDecimal("1e-20000000"));
+
+        assertEquals(BigDecimal.ZERO.setScale(30), result);
+    }
+
+    @Test
+    @Timeout(1)
+    void validateExpressionResult_TinyPower_ZeroWithoutScaling() {
+        //0.5^60000000 con MathContext(34), como lo calculaba el evaluador sin límite de exponente
+        var tiny = new BigDecimal("0.5").pow(60_000_000, new MathContext(34, RoundingMode.HALF_UP));
+
+        assertEquals(BigDecimal.ZERO.setScale(30), UserOperationSaveValidator.validateExpressionResult(tiny));
+    }
+
+    @Test
+    void validateExpressionResult_JustAboveRoundingLimit_KeepsLastDigit() {
+        var result = UserOperationSaveValidator.validateExpressionResult(new BigDecimal("5e-31"));
+
+        assertEquals(new BigDecimal("1e-30").setScale(30), result);
+    }
+}
@@ -6,6 +6,8 @@ import com.mx.raven.calculator.service.EmailValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -71,6 +73,18 @@ class UserSaveValidatorTest {
         assertEquals("Username is required, no special characters and no blanks", exception.getMessage());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "testuser", "TestUser", "user2024", "0123456789"})
+    void validaCadena_Alphanumeric_ReturnsTrue(String username) {
+        assertTrue(validator.validaCadena(username));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "test user", "test_user", "test.user", "usuarioñ", "user\n", "١٢"})
+    void validaCadena_OtherCharacters_ReturnsFalse(String username) {
+        assertFalse(validator.validaCadena(username));
+    }
+
     @Test
     void validate_NullPassword_ThrowsException() {
         validUserDTO.setPassword(null);
@@ -141,4 +155,21 @@ class UserSaveValidatorTest {
 
         verify(emailValidationService).isEmailValid(validEmail);
     }
+
+    @Test
+    void validateFields_ValidUser_DoesNotCallEmailValidationService() {
+        assertDoesNotThrow(() -> validator.validateFields(validUserDTO));
+
+        verifyNoInteractions(emailValidationService);
+    }
+
+    @Test
+    void validateFields_EmptyPassword_ThrowsException() {
+        validUserDTO.setPassword(" ");
+
+        Exception exception = assertThrows(InvalidObjectException.class, () -> validator.validateFields(validUserDTO));
+
+        assertEquals("Password is required", exception.getMessage());
+        verifyNoInteractions(emailValidationService);
+    }
 }